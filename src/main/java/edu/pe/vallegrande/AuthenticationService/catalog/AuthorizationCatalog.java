@@ -0,0 +1,112 @@
+package edu.pe.vallegrande.AuthenticationService.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.pe.vallegrande.AuthenticationService.repository.PermissionRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catálogo en memoria de roles y permisos
+ *
+ * Mantiene un CatalogSnapshot inmutable que se reemplaza de forma atómica. Cada escritura local
+ * incrementa la generación y espera (refresh) una foto cargada después de ella, de modo que quien
+ * escribe lee su propio cambio. Las cargas concurrentes comparten una sola consulta en curso y una
+ * recarga periódica cubre los cambios hechos por otras instancias.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorizationCatalog {
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<Mono<CatalogSnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Foto vigente, cargándola primero si no existe o si hubo escrituras posteriores a ella
+     */
+    public Mono<CatalogSnapshot> current() {
+        return Mono.defer(() -> awaitGeneration(generation.get()));
+    }
+
+    /**
+     * Invalidar tras una escritura confirmada y esperar a la foto que la incluye
+     * Los errores de carga no se propagan a la escritura; la siguiente lectura vuelve a intentarlo
+     */
+    public Mono<Void> refresh() {
+        return Mono.defer(() -> awaitGeneration(generation.incrementAndGet()))
+                .doOnError(error -> log.warn("No se pudo recargar el catálogo: {}", error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Recarga periódica sin bloquear las lecturas, que siguen sirviendo la foto vigente
+     */
+    @Scheduled(fixedDelayString = "${authorization.catalog.refresh-ms:60000}",
+            initialDelayString = "${authorization.catalog.refresh-ms:60000}")
+    public Mono<Void> reload() {
+        return sharedLoad()
+                .onErrorResume(error -> {
+                    log.warn("No se pudo recargar el catálogo: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<CatalogSnapshot> awaitGeneration(long required) {
+        CatalogSnapshot current = snapshot.get();
+        if (current != null && current.generation() >= required) {
+            return Mono.just(current);
+        }
+        // Una carga en curso iniciada antes de la escritura no basta: se espera a la siguiente
+        return sharedLoad().flatMap(loaded -> loaded.generation() >= required
+                ? Mono.just(loaded)
+                : Mono.defer(() -> awaitGeneration(required)));
+    }
+
+    /**
+     * Carga compartida: si ya hay una en curso, todos los llamadores esperan a la misma
+     */
+    private Mono<CatalogSnapshot> sharedLoad() {
+        Mono<CatalogSnapshot> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        Sinks.One<CatalogSnapshot> result = Sinks.one();
+        Mono<CatalogSnapshot> shared = result.asMono();
+        if (!inFlight.compareAndSet(null, shared)) {
+            return sharedLoad();
+        }
+        long target = generation.get();
+        long start = System.nanoTime();
+        Mono.zip(roleRepository.findAll().collectList(), permissionRepository.findAll().collectList())
+                .map(rows -> CatalogSnapshot.build(version.incrementAndGet(), target, rows.getT1(), rows.getT2(),
+                        objectMapper))
+                .subscribe(loaded -> {
+                    CatalogSnapshot swapped = snapshot.accumulateAndGet(loaded, (previous, next) ->
+                            previous == null || next.generation() >= previous.generation() ? next : previous);
+                    inFlight.set(null);
+                    log.info("Catálogo recargado: versión {}, {} roles y {} permisos en {} ms", swapped.version(),
+                            swapped.roleCount(), swapped.permissionCount(), (System.nanoTime() - start) / 1_000_000);
+                    result.tryEmitValue(loaded);
+                }, error -> {
+                    inFlight.set(null);
+                    result.tryEmitError(error);
+                });
+        return shared;
+    }
+}
@@ -0,0 +1,23 @@
+package edu.pe.vallegrande.AuthenticationService.catalog;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Representación JSON precalculada de una vista del catálogo, con su ETag fuerte
+ * El ETag depende solo del contenido, así que no cambia entre recargas que no modifican la vista
+ */
+public record CatalogDocument(byte[] body, String etag) {
+
+    /**
+     * Respuesta 200 con el cuerpo ya serializado; WebFlux responde 304 si coincide If-None-Match
+     */
+    public ResponseEntity<byte[]> toResponseEntity() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
@@ -0,0 +1,157 @@
+package edu.pe.vallegrande.AuthenticationService.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionResponseDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RoleResponseDto;
+import edu.pe.vallegrande.AuthenticationService.model.Permission;
+import edu.pe.vallegrande.AuthenticationService.model.Role;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Foto inmutable del catálogo de roles y permisos
+ *
+ * Contiene las respuestas JSON de los listados ya serializadas, cada una con su ETag.
+ * Las lecturas de un solo rol o permiso van a la base para no devolver datos de una foto anterior.
+ * Nunca se modifica tras construirse; AuthorizationCatalog la reemplaza completa.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<Permission> PERMISSION_ORDER = Comparator
+            .comparing(Permission::getModule)
+            .thenComparing(Permission::getAction)
+            .thenComparing(Permission::getResource, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final long version;
+    private final long generation;
+    private final int roleCount;
+    private final int permissionCount;
+    private final CatalogDocument rolesDocument;
+    private final CatalogDocument activeRolesDocument;
+    private final CatalogDocument inactiveRolesDocument;
+    private final CatalogDocument permissionsDocument;
+    private final Map<String, CatalogDocument> moduleDocuments;
+    private final CatalogDocument emptyDocument;
+
+    private CatalogSnapshot(long version, long generation, List<Role> roleRows, List<Permission> permissionRows,
+            ObjectMapper objectMapper) {
+        this.version = version;
+        this.generation = generation;
+        this.roleCount = roleRows.size();
+        this.permissionCount = permissionRows.size();
+        List<RoleResponseDto> roles = roleRows.stream()
+                .sorted(Comparator.comparing(Role::getName))
+                .map(CatalogSnapshot::toResponse)
+                .toList();
+        List<RoleResponseDto> activeRoles = roles.stream().filter(role -> Boolean.TRUE.equals(role.getActive())).toList();
+        List<RoleResponseDto> inactiveRoles = roles.stream().filter(role -> !Boolean.TRUE.equals(role.getActive())).toList();
+        List<Permission> permissions = permissionRows.stream().sorted(PERMISSION_ORDER).toList();
+        Map<String, List<Permission>> permissionsByModule = permissions.stream()
+                .collect(Collectors.groupingBy(Permission::getModule, LinkedHashMap::new, Collectors.toUnmodifiableList()));
+
+        this.rolesDocument = document(roles, objectMapper);
+        this.activeRolesDocument = document(activeRoles, objectMapper);
+        this.inactiveRolesDocument = document(inactiveRoles, objectMapper);
+        this.permissionsDocument = document(toResponses(permissions), objectMapper);
+        Map<String, CatalogDocument> byModule = new HashMap<>();
+        permissionsByModule.forEach((module, modulePermissions) ->
+                byModule.put(module, document(toResponses(modulePermissions), objectMapper)));
+        this.moduleDocuments = Map.copyOf(byModule);
+        this.emptyDocument = document(List.of(), objectMapper);
+    }
+
+    public static CatalogSnapshot build(long version, long generation, List<Role> roles, List<Permission> permissions,
+            ObjectMapper objectMapper) {
+        return new CatalogSnapshot(version, generation, roles, permissions, objectMapper);
+    }
+
+    /**
+     * Número de carga, creciente en cada reconstrucción del catálogo
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Última escritura local que la foto ya refleja
+     */
+    public long generation() {
+        return generation;
+    }
+
+    public int roleCount() {
+        return roleCount;
+    }
+
+    public int permissionCount() {
+        return permissionCount;
+    }
+
+    /**
+     * Listado de roles serializado: todos (active nulo), activos o inactivos
+     */
+    public CatalogDocument rolesDocument(Boolean active) {
+        if (active == null) {
+            return rolesDocument;
+        }
+        return active ? activeRolesDocument : inactiveRolesDocument;
+    }
+
+    public CatalogDocument permissionsDocument() {
+        return permissionsDocument;
+    }
+
+    public CatalogDocument permissionsByModuleDocument(String module) {
+        return moduleDocuments.getOrDefault(module, emptyDocument);
+    }
+
+    private static CatalogDocument document(Object value, ObjectMapper objectMapper) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return new CatalogDocument(body, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo serializar el catálogo: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<PermissionResponseDto> toResponses(List<Permission> permissions) {
+        return permissions.stream().map(CatalogSnapshot::toResponse).toList();
+    }
+
+    private static RoleResponseDto toResponse(Role role) {
+        return RoleResponseDto.builder()
+                .id(role.getId())
+                .name(role.getName())
+                .description(role.getDescription())
+                .isSystem(role.getIsSystem())
+                .active(role.getActive())
+                .createdAt(role.getCreatedAt())
+                .createdBy(role.getCreatedBy())
+                .build();
+    }
+
+    /**
+     * Mapeo único de Permission a su DTO de respuesta (catálogo, controlador y análisis de accesos)
+     */
+    public static PermissionResponseDto toResponse(Permission permission) {
+        return PermissionResponseDto.builder()
+                .id(permission.getId())
+                .module(permission.getModule())
+                .action(permission.getAction())
+                .resource(permission.getResource())
+                .description(permission.getDescription())
+                .createdAt(permission.getCreatedAt())
+                .createdBy(permission.getCreatedBy())
+                .build();
+    }
+}
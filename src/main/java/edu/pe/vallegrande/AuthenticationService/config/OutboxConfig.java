@@ -0,0 +1,26 @@
+package edu.pe.vallegrande.AuthenticationService.config;
+
+import edu.pe.vallegrande.AuthenticationService.event.InProcessOutboxSink;
+import edu.pe.vallegrande.AuthenticationService.event.OutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del outbox de autorización
+ */
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Sink local opcional (desarrollo y pruebas); en producción definir un bean OutboxSink hacia un broker externo
+     * Sin ningún sink el relay no drena y los registros quedan pendientes, en vez de marcarse como publicados
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    @ConditionalOnProperty(name = "authorization.outbox.in-process-sink", havingValue = "true")
+    public OutboxSink outboxSink() {
+        return new InProcessOutboxSink();
+    }
+}
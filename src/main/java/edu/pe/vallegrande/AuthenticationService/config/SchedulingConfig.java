@@ -0,0 +1,12 @@
+package edu.pe.vallegrande.AuthenticationService.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (recarga de reglas, barridos en segundo plano)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
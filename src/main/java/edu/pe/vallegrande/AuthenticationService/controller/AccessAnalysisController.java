@@ -0,0 +1,60 @@
+package edu.pe.vallegrande.AuthenticationService.controller;
+
+import edu.pe.vallegrande.AuthenticationService.dto.EntitlementDiffDto;
+import edu.pe.vallegrande.AuthenticationService.dto.EntitlementDiffRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.ImpactSimulationRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.ImpactSimulationResultDto;
+import edu.pe.vallegrande.AuthenticationService.service.AccessAnalysisService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST para el análisis de accesos (simulaciones y comparaciones)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/assignments")
+@RequiredArgsConstructor
+@Tag(name = "Access Analysis", description = "API para analizar el impacto de cambios de roles y permisos")
+public class AccessAnalysisController {
+    
+    private final AccessAnalysisService accessAnalysisService;
+    
+    @Operation(summary = "Simular el impacto de un cambio de autorización",
+            description = "Calcula, sin aplicar el cambio, qué usuarios perderían permisos que no reciben por otro rol")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Simulación calculada"),
+            @ApiResponse(responseCode = "400", description = "Cambio no soportado o datos incompletos")
+    })
+    @PostMapping("/impact-simulation")
+    public Mono<ResponseEntity<ImpactSimulationResultDto>> simulateImpact(@RequestBody ImpactSimulationRequestDto request) {
+        log.info("Solicitud para simular el impacto del cambio: {}", request.getChange());
+        return accessAnalysisService.simulateImpact(request)
+                .map(ResponseEntity::ok);
+    }
+    
+    @Operation(summary = "Comparar los permisos efectivos de un usuario contra otro usuario o una plantilla de roles",
+            description = "added: permisos que el usuario ganaría al igualar la referencia; removed: permisos que perdería")
+    @PostMapping("/entitlement-diff")
+    public Mono<ResponseEntity<EntitlementDiffDto>> diffEntitlements(@RequestBody EntitlementDiffRequestDto request) {
+        log.info("Solicitud para comparar permisos del usuario: {}", request.getUserId());
+        return accessAnalysisService.diffEntitlements(request)
+                .map(ResponseEntity::ok);
+    }
+    
+    @Operation(summary = "Comparar los permisos efectivos de varios usuarios contra la misma referencia",
+            description = "Un resultado por usuario; la lista common se omite y solo se informa commonCount")
+    @PostMapping("/entitlement-diff/batch")
+    public Flux<EntitlementDiffDto> diffEntitlementsBatch(@RequestBody EntitlementDiffRequestDto request) {
+        log.info("Solicitud para comparar permisos de usuarios en lote");
+        return accessAnalysisService.diffEntitlementsBatch(request);
+    }
+}
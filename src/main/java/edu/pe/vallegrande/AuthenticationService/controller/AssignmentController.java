@@ -1,8 +1,18 @@
 package edu.pe.vallegrande.AuthenticationService.controller;
 
+import edu.pe.vallegrande.AuthenticationService.dto.AccessMatrixRowDto;
 import edu.pe.vallegrande.AuthenticationService.dto.AssignRoleRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkAssignmentResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkRolePermissionAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkUserRoleAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import edu.pe.vallegrande.AuthenticationService.dto.MassRoleAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.MassRoleAssignmentResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionCheckRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionUserDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RolePermissionAssignmentDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserRoleAssignmentDto;
+import edu.pe.vallegrande.AuthenticationService.service.AccessMatrixExportService;
 import edu.pe.vallegrande.AuthenticationService.service.AssignmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,12 +21,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -30,6 +43,7 @@ import java.util.UUID;
 public class AssignmentController {
     
     private final AssignmentService assignmentService;
+    private final AccessMatrixExportService accessMatrixExportService;
     
     // === GESTIÓN USUARIO-ROL ===
     
@@ -126,6 +140,83 @@ public class AssignmentController {
         return assignmentService.getRolesWithPermission(permissionId);
     }
     
+    @Operation(summary = "Obtener usuarios que tienen un permiso a través de sus roles",
+            description = "Paginado por cursor: enviar nextCursor como 'after' para obtener la página siguiente. "
+                    + "totalCount es aproximado: proviene del índice de accesos en memoria, que se reconstruye "
+                    + "con los cambios locales y periódicamente, y puede no coincidir con las páginas tras "
+                    + "cambios hechos en otras instancias")
+    @GetMapping("/permissions/{permissionId}/users")
+    public Mono<ResponseEntity<CursorPageDto<PermissionUserDto>>> getUsersWithPermission(
+            @Parameter(description = "ID del permiso") @PathVariable UUID permissionId,
+            @Parameter(description = "Cursor: último ID de usuario de la página anterior") @RequestParam(required = false) UUID after,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(defaultValue = "50") int size) {
+        log.info("Solicitud para obtener usuarios con el permiso: {}", permissionId);
+        return assignmentService.getUsersWithPermission(permissionId, after, size)
+                .map(ResponseEntity::ok);
+    }
+    
+    // === EXPORTACIÓN ===
+    
+    @Operation(summary = "Exportar la matriz de accesos usuario x rol x permiso en CSV",
+            description = "Se transmite en streaming desde un cursor de base de datos")
+    @GetMapping(value = "/assignments/access-matrix", produces = "text/csv;charset=UTF-8")
+    public ResponseEntity<Flux<String>> exportAccessMatrixCsv() {
+        log.info("Solicitud para exportar la matriz de accesos en CSV");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"access-matrix.csv\"")
+                .body(accessMatrixExportService.streamCsv());
+    }
+    
+    @Operation(summary = "Exportar la matriz de accesos usuario x rol x permiso en NDJSON",
+            description = "Una fila JSON por línea, transmitida en streaming desde un cursor de base de datos")
+    @GetMapping(value = "/assignments/access-matrix", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AccessMatrixRowDto> exportAccessMatrixNdjson() {
+        log.info("Solicitud para exportar la matriz de accesos en NDJSON");
+        return accessMatrixExportService.streamRows();
+    }
+    
+    // === ASIGNACIONES MASIVAS ===
+    
+    @Operation(summary = "Asignar roles a usuarios en bloque",
+            description = "Valida la existencia de usuarios y roles en conjunto e inserta todos los pares en una transacción")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado de cada par (ASSIGNED, ALREADY_ASSIGNED, USER_NOT_FOUND, ROLE_NOT_FOUND)"),
+            @ApiResponse(responseCode = "400", description = "El lote supera el tamaño máximo")
+    })
+    @PostMapping("/assignments/users-roles/bulk")
+    public Flux<BulkAssignmentResultDto> assignRolesToUsers(@RequestBody BulkUserRoleAssignmentRequestDto request) {
+        log.info("Solicitud de asignación masiva usuario-rol");
+        return assignmentService.assignRolesToUsers(request);
+    }
+    
+    @Operation(summary = "Asignar permisos a roles en bloque",
+            description = "Valida la existencia de roles y permisos en conjunto e inserta todos los pares en una transacción")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado de cada par (ASSIGNED, ALREADY_ASSIGNED, ROLE_NOT_FOUND, PERMISSION_NOT_FOUND)"),
+            @ApiResponse(responseCode = "400", description = "El lote supera el tamaño máximo")
+    })
+    @PostMapping("/assignments/roles-permissions/bulk")
+    public Flux<BulkAssignmentResultDto> assignPermissionsToRoles(@RequestBody BulkRolePermissionAssignmentRequestDto request) {
+        log.info("Solicitud de asignación masiva rol-permiso");
+        return assignmentService.assignPermissionsToRoles(request);
+    }
+    
+    @Operation(summary = "Asignar un rol a todos los usuarios que cumplen un selector",
+            description = "Filtra por área, posición, subárbol de un manager y/o status y asigna el rol en una sola sentencia")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cantidad de usuarios a los que se asignó el rol"),
+            @ApiResponse(responseCode = "400", description = "No se indicó ningún criterio"),
+            @ApiResponse(responseCode = "404", description = "Rol no encontrado")
+    })
+    @PostMapping("/assignments/roles/{roleId}/users")
+    public Mono<ResponseEntity<MassRoleAssignmentResultDto>> assignRoleToMatchingUsers(
+            @Parameter(description = "ID del rol") @PathVariable UUID roleId,
+            @RequestBody MassRoleAssignmentRequestDto selector) {
+        log.info("Solicitud de asignación masiva del rol {} por selector", roleId);
+        return assignmentService.assignRoleToMatchingUsers(roleId, selector)
+                .map(result -> ResponseEntity.ok(result));
+    }
+    
     // === CONSULTAS AVANZADAS ===
     
     @Operation(summary = "Obtener todos los permisos efectivos de un usuario")
@@ -148,6 +239,20 @@ public class AssignmentController {
                 .map(hasPermission -> ResponseEntity.ok(hasPermission));
     }
     
+    @Operation(summary = "Verificar varios permisos de un usuario en una sola petición")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado de cada permiso module:action[:resource]"),
+            @ApiResponse(responseCode = "400", description = "El lote supera el tamaño máximo")
+    })
+    @PostMapping("/users/{userId}/permissions/check")
+    public Mono<ResponseEntity<Map<String, Boolean>>> checkPermissions(
+            @Parameter(description = "ID del usuario") @PathVariable UUID userId,
+            @RequestBody PermissionCheckRequestDto request) {
+        log.info("Verificando permisos en bloque para usuario: {}", userId);
+        return assignmentService.checkPermissions(userId, request.getPermissions())
+                .map(result -> ResponseEntity.ok(result));
+    }
+    
     @Operation(summary = "Verificar si un usuario tiene un rol específico")
     @GetMapping("/users/{userId}/has-role/{roleId}")
     public Mono<ResponseEntity<Boolean>> userHasRole(
@@ -0,0 +1,52 @@
+package edu.pe.vallegrande.AuthenticationService.controller;
+
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Controlador SSE para los eventos de cambio de autorización
+ */
+@RestController
+@RequestMapping("/api/v1/authorization")
+@RequiredArgsConstructor
+@Tag(name = "Authorization Events", description = "Stream de cambios de roles, permisos y estado de usuarios")
+public class AuthorizationEventController {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final AuthorizationEventPublisher eventPublisher;
+
+    @Operation(summary = "Suscribirse a los eventos de cambio de autorización (Server-Sent Events)")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AuthorizationEventDto>> streamEvents(
+            @Parameter(description = "Último id recibido (enviado automáticamente por EventSource al reconectar)")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @Parameter(description = "Último id recibido, alternativa al header Last-Event-ID")
+            @RequestParam(required = false) Long lastEventId) {
+        Long resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+
+        Flux<ServerSentEvent<AuthorizationEventDto>> events = eventPublisher.stream(resumeFrom)
+                .map(event -> ServerSentEvent.<AuthorizationEventDto>builder(event)
+                        .id(event.getSequence() != null ? event.getSequence().toString() : null)
+                        .event(event.getType().name())
+                        .build());
+        Flux<ServerSentEvent<AuthorizationEventDto>> heartbeat = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<AuthorizationEventDto>builder().comment("keep-alive").build());
+
+        return Flux.merge(events, heartbeat);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.pe.vallegrande.AuthenticationService.controller;
+
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionCheckResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionQueryDto;
+import edu.pe.vallegrande.AuthenticationService.service.AssignmentService;
+import edu.pe.vallegrande.AuthenticationService.service.AuthService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador RSocket (TCP) para verificaciones de token y permisos de alto volumen
+ * 
+ * Los servicios internos abren una conexión persistente enviando su token JWT en el SETUP
+ * y multiplexan sobre ella las verificaciones, evitando el costo de una petición HTTP por consulta.
+ * La autenticación de la conexión y la autorización por ruta las aplica RSocketSecurityConfig.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class AuthorizationRSocketController {
+
+    private final AuthService authService;
+    private final AssignmentService assignmentService;
+
+    /**
+     * Validar un token (request-response)
+     */
+    @MessageMapping("auth.validate")
+    public Mono<Boolean> validateToken(String token) {
+        return authService.validateToken(token)
+                .onErrorReturn(false);
+    }
+
+    /**
+     * Verificar un permiso de un usuario (request-response)
+     */
+    @MessageMapping("auth.has-permission")
+    public Mono<Boolean> userHasPermission(PermissionQueryDto query) {
+        return assignmentService.userHasPermission(
+                query.getUserId(), query.getModule(), query.getAction(), query.getResource());
+    }
+
+    /**
+     * Verificar varios permisos de un usuario emitiendo un resultado por permiso (request-stream)
+     */
+    @MessageMapping("auth.permissions.check")
+    public Flux<PermissionCheckResultDto> checkPermissions(PermissionQueryDto query) {
+        return assignmentService.checkPermissions(query.getUserId(), query.getPermissions())
+                .flatMapIterable(result -> result.entrySet())
+                .map(entry -> PermissionCheckResultDto.builder()
+                        .permission(entry.getKey())
+                        .allowed(entry.getValue())
+                        .build());
+    }
+}
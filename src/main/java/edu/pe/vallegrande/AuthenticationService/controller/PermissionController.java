@@ -1,11 +1,19 @@
 package edu.pe.vallegrande.AuthenticationService.controller;
 
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogDocument;
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogSnapshot;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionCatalogSyncRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionCatalogSyncResultDto;
 import edu.pe.vallegrande.AuthenticationService.dto.PermissionRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.PermissionResponseDto;
 import edu.pe.vallegrande.AuthenticationService.model.Permission;
+import edu.pe.vallegrande.AuthenticationService.service.PermissionCatalogSyncService;
 import edu.pe.vallegrande.AuthenticationService.service.PermissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,6 +43,7 @@ import java.util.UUID;
 public class PermissionController {
 
     private final PermissionService permissionService;
+    private final PermissionCatalogSyncService permissionCatalogSyncService;
 
     /**
      * Crear un nuevo permiso en el sistema
@@ -69,7 +78,7 @@ public class PermissionController {
                 .build();
 
         return permissionService.createPermission(permission)
-                .map(this::mapToResponseDto)
+                .map(CatalogSnapshot::toResponse)
                 .map(responseDto -> {
                     log.info("Permiso creado exitosamente con ID: {}", responseDto.getId());
                     return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
@@ -77,6 +86,33 @@ public class PermissionController {
                 .doOnError(error -> log.error("Error al crear permiso: {}", error.getMessage()));
     }
 
+    /**
+     * Sincronizar el catálogo completo de permisos de un servicio
+     * 
+     * @param request Permisos declarados y opciones de eliminación
+     * @return Conteo de permisos creados, actualizados, sin cambios y eliminados
+     */
+    @Operation(
+        summary = "Sincronizar catálogo de permisos",
+        description = "Aplica la lista completa de permisos de un servicio como upsert por módulo, acción y recurso; "
+                + "con prune elimina los permisos de esos módulos que no estén en la lista"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catálogo sincronizado"),
+        @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
+    })
+    @PutMapping("/sync")
+    public Mono<ResponseEntity<PermissionCatalogSyncResultDto>> syncCatalog(
+            @Parameter(description = "Catálogo de permisos declarado", required = true)
+            @RequestBody PermissionCatalogSyncRequestDto request) {
+        
+        log.info("Sincronizando catálogo de permisos: {} declarados",
+                request.getPermissions() != null ? request.getPermissions().size() : 0);
+        
+        return permissionCatalogSyncService.syncCatalog(request)
+                .map(ResponseEntity::ok);
+    }
+
     /**
      * Obtener un permiso por su ID
      * 
@@ -99,7 +135,7 @@ public class PermissionController {
         log.info("Consultando permiso con ID: {}", id);
         
         return permissionService.getPermissionById(id)
-                .map(this::mapToResponseDto)
+                .map(CatalogSnapshot::toResponse)
                 .map(responseDto -> {
                     log.info("Permiso encontrado: {}", responseDto.getId());
                     return ResponseEntity.ok(responseDto);
@@ -117,15 +153,17 @@ public class PermissionController {
         description = "Obtiene la lista completa de permisos disponibles en el sistema"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de permisos obtenida exitosamente")
+        @ApiResponse(responseCode = "200", description = "Lista de permisos obtenida exitosamente",
+            content = @Content(mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = PermissionResponseDto.class)))),
+        @ApiResponse(responseCode = "304", description = "El catálogo no cambió (If-None-Match)")
     })
     @GetMapping
-    public Flux<PermissionResponseDto> getAllPermissions() {
+    public Mono<ResponseEntity<byte[]>> getAllPermissions() {
         log.info("Consultando todos los permisos del sistema");
         
-        return permissionService.getAllPermissions()
-                .map(this::mapToResponseDto)
-                .doOnComplete(() -> log.info("Consulta de permisos completada"))
+        return permissionService.getPermissionsDocument()
+                .map(CatalogDocument::toResponseEntity)
                 .doOnError(error -> log.error("Error al consultar permisos: {}", error.getMessage()));
     }
 
@@ -162,7 +200,7 @@ public class PermissionController {
                 .build();
 
         return permissionService.updatePermission(id, permission)
-                .map(this::mapToResponseDto)
+                .map(CatalogSnapshot::toResponse)
                 .map(responseDto -> {
                     log.info("Permiso actualizado exitosamente: {}", id);
                     return ResponseEntity.ok(responseDto);
@@ -227,7 +265,7 @@ public class PermissionController {
         log.info("Buscando permiso: {}:{}:{}", module, action, resource);
         
         return permissionService.getPermissionByDetails(module, action, resource)
-                .map(this::mapToResponseDto)
+                .map(CatalogSnapshot::toResponse)
                 .map(responseDto -> {
                     log.info("Permiso encontrado: {}", responseDto.getId());
                     return ResponseEntity.ok(responseDto);
@@ -247,18 +285,20 @@ public class PermissionController {
         description = "Recupera todos los permisos asociados a un módulo específico"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Permisos del módulo obtenidos exitosamente")
+        @ApiResponse(responseCode = "200", description = "Permisos del módulo obtenidos exitosamente",
+            content = @Content(mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = PermissionResponseDto.class)))),
+        @ApiResponse(responseCode = "304", description = "El catálogo no cambió (If-None-Match)")
     })
     @GetMapping("/module/{module}")
-    public Flux<PermissionResponseDto> getPermissionsByModule(
+    public Mono<ResponseEntity<byte[]>> getPermissionsByModule(
             @Parameter(description = "Nombre del módulo", required = true)
             @PathVariable String module) {
         
         log.info("Consultando permisos del módulo: {}", module);
         
-        return permissionService.getPermissionsByModule(module)
-                .map(this::mapToResponseDto)
-                .doOnComplete(() -> log.info("Consulta de permisos del módulo {} completada", module))
+        return permissionService.getPermissionsByModuleDocument(module)
+                .map(CatalogDocument::toResponseEntity)
                 .doOnError(error -> log.error("Error al consultar permisos del módulo {}: {}", 
                     module, error.getMessage()));
     }
@@ -297,19 +337,4 @@ public class PermissionController {
                 .doOnError(error -> log.error("Error al verificar permiso {}:{}:{}: {}", 
                     module, action, resource, error.getMessage()));
     }
-
-    /**
-     * Mapea una entidad Permission a su DTO de respuesta
-     */
-    private PermissionResponseDto mapToResponseDto(Permission permission) {
-        return PermissionResponseDto.builder()
-                .id(permission.getId())
-                .module(permission.getModule())
-                .action(permission.getAction())
-                .resource(permission.getResource())
-                .description(permission.getDescription())
-                .createdAt(permission.getCreatedAt())
-                .createdBy(permission.getCreatedBy())
-                .build();
-    }
 }
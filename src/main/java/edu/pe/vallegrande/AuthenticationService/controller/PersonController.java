@@ -1,7 +1,10 @@
 package edu.pe.vallegrande.AuthenticationService.controller;
 
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PersonBulkLoadResultDto;
 import edu.pe.vallegrande.AuthenticationService.dto.PersonRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.PersonResponseDto;
+import edu.pe.vallegrande.AuthenticationService.service.PersonBulkLoadService;
 import edu.pe.vallegrande.AuthenticationService.service.PersonService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,11 +14,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -29,6 +34,7 @@ import java.util.UUID;
 public class PersonController {
     
     private final PersonService personService;
+    private final PersonBulkLoadService personBulkLoadService;
     
     @Operation(summary = "Crear una nueva persona")
     @ApiResponses(value = {
@@ -42,6 +48,26 @@ public class PersonController {
                 .map(person -> ResponseEntity.status(HttpStatus.CREATED).body(person));
     }
     
+    @Operation(summary = "Cargar personas en bloque desde NDJSON",
+            description = "Un PersonRequestDto por línea. Se cargan con COPY y se combinan en una sola transacción; "
+                    + "los registros con documento o email existente, repetidos o inválidos se devuelven como conflictos")
+    @PostMapping(value = "/bulk-load", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<PersonBulkLoadResultDto>> loadPersonsNdjson(@RequestBody Flux<String> lines) {
+        log.info("Solicitud para cargar personas en bloque desde NDJSON");
+        return personBulkLoadService.loadNdjson(lines)
+                .map(ResponseEntity::ok);
+    }
+    
+    @Operation(summary = "Cargar personas en bloque desde CSV",
+            description = "Primera línea de cabecera con columnas documentTypeId,documentNumber,firstName,lastName,middleName,"
+                    + "birthDate,gender,personalPhone,workPhone,personalEmail,address")
+    @PostMapping(value = "/bulk-load", consumes = "text/csv")
+    public Mono<ResponseEntity<PersonBulkLoadResultDto>> loadPersonsCsv(@RequestBody Flux<String> lines) {
+        log.info("Solicitud para cargar personas en bloque desde CSV");
+        return personBulkLoadService.loadCsv(lines)
+                .map(ResponseEntity::ok);
+    }
+    
     @Operation(summary = "Obtener todas las personas")
     @GetMapping
     public Flux<PersonResponseDto> getAllPersons() {
@@ -49,6 +75,32 @@ public class PersonController {
         return personService.getAllPersons();
     }
     
+    @Operation(summary = "Exportar todas las personas en NDJSON",
+            description = "Un objeto JSON por línea, transmitido en streaming desde un cursor de base de datos")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PersonResponseDto> streamAllPersons() {
+        log.info("Solicitud para exportar todas las personas en NDJSON");
+        return personService.streamAllPersons();
+    }
+    
+    @Operation(summary = "Obtener personas paginados por cursor",
+            description = "Paginado por cursor (keyset) sobre (createdAt, id): enviar nextCursor como 'cursor' para obtener "
+                    + "la página siguiente. fields limita las columnas leídas, p. ej. fields=id,fullName,documentNumber")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de personas"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido o campo no permitido en fields")
+    })
+    @GetMapping("/page")
+    public Mono<ResponseEntity<CursorPageDto<Map<String, Object>>>> getPersonsPage(
+            @Parameter(description = "Filtrar por estado activo/inactivo") @RequestParam(required = false) Boolean active,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor en la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Campos a devolver separados por comas (todos si se omite)") @RequestParam(required = false) String fields) {
+        log.info("Solicitud para obtener página de personas");
+        return personService.getPersonsPage(active, cursor, size, fields)
+                .map(ResponseEntity::ok);
+    }
+    
     @Operation(summary = "Obtener todas las personas activas")
     @GetMapping("/active")
     public Flux<PersonResponseDto> getAllActivePersons() {
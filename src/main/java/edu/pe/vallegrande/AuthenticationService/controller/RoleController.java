@@ -1,10 +1,17 @@
 package edu.pe.vallegrande.AuthenticationService.controller;
 
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogDocument;
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RoleCloneRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RoleCloneResultDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RoleRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RoleResponseDto;
 import edu.pe.vallegrande.AuthenticationService.service.RoleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -43,24 +51,60 @@ public class RoleController {
     }
     
     @Operation(summary = "Obtener todos los roles")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de roles", content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = RoleResponseDto.class)))),
+            @ApiResponse(responseCode = "304", description = "El catálogo no cambió (If-None-Match)")
+    })
     @GetMapping
-    public Flux<RoleResponseDto> getAllRoles() {
+    public Mono<ResponseEntity<byte[]>> getAllRoles() {
         log.info("Solicitud para obtener todos los roles");
-        return roleService.getAllRoles();
+        return roleService.getRolesDocument(null)
+                .map(CatalogDocument::toResponseEntity);
+    }
+    
+    @Operation(summary = "Obtener roles paginados por cursor",
+            description = "Paginado por cursor (keyset) sobre (createdAt, id): enviar nextCursor como 'cursor' para obtener "
+                    + "la página siguiente. fields limita las columnas leídas, p. ej. fields=id,name,active")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de roles"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido o campo no permitido en fields")
+    })
+    @GetMapping("/page")
+    public Mono<ResponseEntity<CursorPageDto<Map<String, Object>>>> getRolesPage(
+            @Parameter(description = "Filtrar por estado activo/inactivo") @RequestParam(required = false) Boolean active,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor en la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Campos a devolver separados por comas (todos si se omite)") @RequestParam(required = false) String fields) {
+        log.info("Solicitud para obtener página de roles");
+        return roleService.getRolesPage(active, cursor, size, fields)
+                .map(ResponseEntity::ok);
     }
     
     @Operation(summary = "Obtener roles activos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de roles", content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = RoleResponseDto.class)))),
+            @ApiResponse(responseCode = "304", description = "El catálogo no cambió (If-None-Match)")
+    })
     @GetMapping("/active")
-    public Flux<RoleResponseDto> getActiveRoles() {
+    public Mono<ResponseEntity<byte[]>> getActiveRoles() {
         log.info("Solicitud para obtener roles activos");
-        return roleService.getActiveRoles();
+        return roleService.getRolesDocument(true)
+                .map(CatalogDocument::toResponseEntity);
     }
     
     @Operation(summary = "Obtener roles inactivos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de roles", content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = RoleResponseDto.class)))),
+            @ApiResponse(responseCode = "304", description = "El catálogo no cambió (If-None-Match)")
+    })
     @GetMapping("/inactive")
-    public Flux<RoleResponseDto> getInactiveRoles() {
+    public Mono<ResponseEntity<byte[]>> getInactiveRoles() {
         log.info("Solicitud para obtener roles inactivos");
-        return roleService.getInactiveRoles();
+        return roleService.getRolesDocument(false)
+                .map(CatalogDocument::toResponseEntity);
     }
     
     @Operation(summary = "Obtener rol por ID")
@@ -121,4 +165,61 @@ public class RoleController {
         return roleService.existsByName(name)
                 .map(exists -> ResponseEntity.ok(exists));
     }
+    
+    @Operation(summary = "Clonar un rol con sus permisos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Rol clonado exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Rol origen no encontrado"),
+            @ApiResponse(responseCode = "409", description = "Ya existe un rol con ese nombre")
+    })
+    @PostMapping("/{id}/clone")
+    public Mono<ResponseEntity<RoleCloneResultDto>> cloneRole(
+            @Parameter(description = "ID del rol origen") @PathVariable UUID id,
+            @RequestBody RoleCloneRequestDto request) {
+        log.info("Solicitud para clonar el rol {} como: {}", id, request.getName());
+        return roleService.cloneRole(id, request)
+                .map(result -> ResponseEntity.status(HttpStatus.CREATED).body(result));
+    }
+    
+    @Operation(summary = "Obtener los roles de los que el rol hereda directamente")
+    @GetMapping("/{id}/parents")
+    public Flux<RoleResponseDto> getParentRoles(
+            @Parameter(description = "ID del rol") @PathVariable UUID id) {
+        log.info("Solicitud para obtener roles padre del rol: {}", id);
+        return roleService.getParentRoles(id);
+    }
+    
+    @Operation(summary = "Obtener todos los roles heredados (directa o transitivamente)")
+    @GetMapping("/{id}/inherited")
+    public Flux<RoleResponseDto> getInheritedRoles(
+            @Parameter(description = "ID del rol") @PathVariable UUID id) {
+        log.info("Solicitud para obtener roles heredados por el rol: {}", id);
+        return roleService.getInheritedRoles(id);
+    }
+    
+    @Operation(summary = "Hacer que el rol herede los permisos de otro rol")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Herencia creada exitosamente"),
+            @ApiResponse(responseCode = "400", description = "La herencia generaría un ciclo"),
+            @ApiResponse(responseCode = "404", description = "Rol no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El rol ya hereda de ese rol")
+    })
+    @PostMapping("/{id}/parents/{parentId}")
+    public Mono<ResponseEntity<Void>> addParentRole(
+            @Parameter(description = "ID del rol hijo") @PathVariable UUID id,
+            @Parameter(description = "ID del rol padre") @PathVariable UUID parentId) {
+        log.info("Solicitud para que el rol {} herede del rol {}", id, parentId);
+        return roleService.addParentRole(id, parentId)
+                .then(Mono.just(ResponseEntity.status(HttpStatus.CREATED).<Void>build()));
+    }
+    
+    @Operation(summary = "Quitar la herencia directa respecto de otro rol")
+    @DeleteMapping("/{id}/parents/{parentId}")
+    public Mono<ResponseEntity<Void>> removeParentRole(
+            @Parameter(description = "ID del rol hijo") @PathVariable UUID id,
+            @Parameter(description = "ID del rol padre") @PathVariable UUID parentId) {
+        log.info("Solicitud para que el rol {} deje de heredar del rol {}", id, parentId);
+        return roleService.removeParentRole(id, parentId)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
 }
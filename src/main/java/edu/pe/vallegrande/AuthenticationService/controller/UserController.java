@@ -1,7 +1,12 @@
 package edu.pe.vallegrande.AuthenticationService.controller;
 
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserImportResultDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserResponseDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserVersionDto;
+import edu.pe.vallegrande.AuthenticationService.exception.PreconditionFailedException;
+import edu.pe.vallegrande.AuthenticationService.service.UserImportService;
 import edu.pe.vallegrande.AuthenticationService.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,12 +15,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -29,6 +37,7 @@ import java.util.UUID;
 public class UserController {
     
     private final UserService userService;
+    private final UserImportService userImportService;
     
     @Operation(summary = "Crear un nuevo usuario")
     @ApiResponses(value = {
@@ -42,6 +51,28 @@ public class UserController {
                 .map(user -> ResponseEntity.status(HttpStatus.CREATED).body(user));
     }
     
+    @Operation(summary = "Importar usuarios en bloque desde NDJSON",
+            description = "Un UserRequestDto por línea. Se procesa por lotes y devuelve el resultado de cada registro "
+                    + "(CREATED, DUPLICATE, INVALID, INVALID_REFERENCE); con Accept application/x-ndjson se transmite a medida que avanza")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserImportResultDto> importUsersNdjson(
+            @RequestBody Flux<String> lines,
+            @Parameter(description = "Usuario que realiza la importación (si el registro no lo indica)") @RequestParam(required = false) UUID createdBy) {
+        log.info("Solicitud para importar usuarios desde NDJSON");
+        return userImportService.importNdjson(lines, createdBy);
+    }
+    
+    @Operation(summary = "Importar usuarios en bloque desde CSV",
+            description = "Primera línea de cabecera con columnas username,password,personId,areaId,positionId,"
+                    + "directManagerId,status,createdBy. Devuelve el resultado de cada registro")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public Flux<UserImportResultDto> importUsersCsv(
+            @RequestBody Flux<String> lines,
+            @Parameter(description = "Usuario que realiza la importación (si el registro no lo indica)") @RequestParam(required = false) UUID createdBy) {
+        log.info("Solicitud para importar usuarios desde CSV");
+        return userImportService.importCsv(lines, createdBy);
+    }
+    
     @Operation(summary = "Obtener todos los usuarios")
     @GetMapping
     public Flux<UserResponseDto> getAllUsers() {
@@ -49,6 +80,32 @@ public class UserController {
         return userService.getAllUsers();
     }
     
+    @Operation(summary = "Exportar todos los usuarios en NDJSON",
+            description = "Un objeto JSON por línea, transmitido en streaming desde un cursor de base de datos")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserResponseDto> streamAllUsers() {
+        log.info("Solicitud para exportar todos los usuarios en NDJSON");
+        return userService.streamAllUsers();
+    }
+    
+    @Operation(summary = "Obtener usuarios paginados por cursor",
+            description = "Paginado por cursor (keyset) sobre (createdAt, id): enviar nextCursor como 'cursor' para obtener "
+                    + "la página siguiente. fields limita las columnas leídas, p. ej. fields=id,username,status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de usuarios"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido o campo no permitido en fields")
+    })
+    @GetMapping("/page")
+    public Mono<ResponseEntity<CursorPageDto<Map<String, Object>>>> getUsersPage(
+            @Parameter(description = "Filtrar por status (ACTIVE, INACTIVE, SUSPENDED)") @RequestParam(required = false) String status,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor en la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Campos a devolver separados por comas (todos si se omite)") @RequestParam(required = false) String fields) {
+        log.info("Solicitud para obtener página de usuarios");
+        return userService.getUsersPage(status, cursor, size, fields)
+                .map(ResponseEntity::ok);
+    }
+    
     @Operation(summary = "Obtener usuarios activos")
     @GetMapping("/active")
     public Flux<UserResponseDto> getActiveUsers() {
@@ -73,23 +130,37 @@ public class UserController {
     @Operation(summary = "Obtener usuario por ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Usuario encontrado"),
+            @ApiResponse(responseCode = "304", description = "El usuario no cambió desde el ETag indicado"),
             @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
     })
     @GetMapping("/{id}")
     public Mono<ResponseEntity<UserResponseDto>> getUserById(
-            @Parameter(description = "ID del usuario") @PathVariable UUID id) {
+            @Parameter(description = "ID del usuario") @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Solicitud para obtener usuario por ID: {}", id);
-        return userService.getUserById(id)
-                .map(user -> ResponseEntity.ok(user));
+        if (ifNoneMatch == null) {
+            return userService.getUserById(id).map(UserController::withETag);
+        }
+        // Solo la versión: si el cliente ya tiene esa representación no se lee la fila completa
+        return userService.getUserVersion(id)
+                .flatMap(current -> matches(ifNoneMatch, eTag(current.getId(), current.getVersion()))
+                        ? Mono.just(notModified(current))
+                        : userService.getUserById(id).map(UserController::withETag));
     }
     
     @Operation(summary = "Obtener usuario por username")
     @GetMapping("/username/{username}")
     public Mono<ResponseEntity<UserResponseDto>> getUserByUsername(
-            @Parameter(description = "Username del usuario") @PathVariable String username) {
+            @Parameter(description = "Username del usuario") @PathVariable String username,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Solicitud para obtener usuario por username: {}", username);
-        return userService.getUserByUsername(username)
-                .map(user -> ResponseEntity.ok(user));
+        if (ifNoneMatch == null) {
+            return userService.getUserByUsername(username).map(UserController::withETag);
+        }
+        return userService.getUserVersionByUsername(username)
+                .flatMap(current -> matches(ifNoneMatch, eTag(current.getId(), current.getVersion()))
+                        ? Mono.just(notModified(current))
+                        : userService.getUserByUsername(username).map(UserController::withETag));
     }
     
     @Operation(summary = "Obtener usuarios por área")
@@ -117,13 +188,27 @@ public class UserController {
     }
     
     @Operation(summary = "Actualizar un usuario")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Usuario actualizado"),
+            @ApiResponse(responseCode = "404", description = "Usuario no encontrado"),
+            @ApiResponse(responseCode = "412", description = "El usuario cambió desde el ETag indicado en If-Match")
+    })
     @PutMapping("/{id}")
     public Mono<ResponseEntity<UserResponseDto>> updateUser(
             @Parameter(description = "ID del usuario") @PathVariable UUID id,
-            @RequestBody UserRequestDto userRequestDto) {
+            @RequestBody UserRequestDto userRequestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Solicitud para actualizar usuario con ID: {}", id);
-        return userService.updateUser(id, userRequestDto)
-                .map(user -> ResponseEntity.ok(user));
+        Integer expectedVersion = null;
+        if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+            expectedVersion = expectedVersion(id, ifMatch);
+            if (expectedVersion == null) {
+                return Mono.error(new PreconditionFailedException(
+                        "El ETag indicado en If-Match no corresponde al usuario " + id));
+            }
+        }
+        return userService.updateUser(id, userRequestDto, expectedVersion)
+                .map(UserController::withETag);
     }
     
     @Operation(summary = "Cambiar status de usuario")
@@ -193,4 +278,52 @@ public class UserController {
         return userService.existsByUsername(username)
                 .map(exists -> ResponseEntity.ok(exists));
     }
-}
\ No newline at end of file
+    
+    /**
+     * ETag fuerte derivado de (id, version); la versión cambia en cada escritura del usuario
+     */
+    static String eTag(UUID id, Integer version) {
+        return "\"" + id + "-" + (version != null ? version : 0) + "\"";
+    }
+    
+    private static ResponseEntity<UserResponseDto> withETag(UserResponseDto user) {
+        return ResponseEntity.ok().eTag(eTag(user.getId(), user.getVersion())).body(user);
+    }
+    
+    private static ResponseEntity<UserResponseDto> notModified(UserVersionDto current) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag(current.getId(), current.getVersion()))
+                .build();
+    }
+    
+    /**
+     * Comparación débil de If-None-Match: lista de ETags separada por comas o "*"
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || (value.startsWith("W/") ? value.substring(2) : value).equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Versión esperada según If-Match, o null si ningún ETag corresponde a este usuario
+     */
+    static Integer expectedVersion(UUID id, String ifMatch) {
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith(prefix) && value.endsWith("\"") && value.length() > prefix.length() + 1) {
+                try {
+                    return Integer.valueOf(value.substring(prefix.length(), value.length() - 1));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
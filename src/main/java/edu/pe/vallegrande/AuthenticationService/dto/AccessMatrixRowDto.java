@@ -0,0 +1,34 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de una fila de la matriz de accesos usuario x rol x permiso
+ * Los campos del permiso son null cuando el rol no tiene permisos asignados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessMatrixRowDto {
+    
+    private UUID userId;
+    private String username;
+    private String userStatus;
+    private UUID roleId;
+    private String roleName;
+    private Boolean roleActive;
+    private LocalDateTime assignedAt;
+    private LocalDate expirationDate;
+    private UUID permissionId;
+    private String module;
+    private String action;
+    private String resource;
+}
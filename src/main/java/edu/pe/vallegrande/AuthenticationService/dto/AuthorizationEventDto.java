@@ -0,0 +1,32 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO de un evento de cambio de autorización
+ * sequence es creciente y sirve como id para reanudar el stream (Last-Event-ID)
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuthorizationEventDto {
+    
+    private Long sequence;
+    private AuthorizationEventType type;
+    private UUID userId;
+    private UUID roleId;
+    private UUID permissionId;
+    private UUID parentRoleId;
+    private String status;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,26 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO con el resultado de cada par en una asignación masiva
+ * status: ASSIGNED, ALREADY_ASSIGNED, USER_NOT_FOUND, ROLE_NOT_FOUND o PERMISSION_NOT_FOUND
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkAssignmentResultDto {
+    
+    private UUID userId;
+    private UUID roleId;
+    private UUID permissionId;
+    private String status;
+}
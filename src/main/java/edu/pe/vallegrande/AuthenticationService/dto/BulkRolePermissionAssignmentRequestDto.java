@@ -0,0 +1,20 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para la asignación masiva de permisos a roles
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRolePermissionAssignmentRequestDto {
+    
+    private List<RolePermissionPairDto> assignments;
+}
@@ -0,0 +1,26 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para la asignación masiva de roles a usuarios
+ * Los datos de auditoría y expiración se aplican a todos los pares
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserRoleAssignmentRequestDto {
+    
+    private List<UserRolePairDto> assignments;
+    private UUID assignedBy;
+    private LocalDate expirationDate;
+    private Boolean active;
+}
@@ -0,0 +1,29 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de una página con paginación por cursor (keyset)
+ * nextCursor es null en la última página; totalCount solo se informa cuando es barato calcularlo
+ * y puede provenir de una fuente distinta a la de items (por ejemplo un índice en memoria), por lo
+ * que es aproximado
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageDto<T> {
+    
+    private List<T> items;
+    private String nextCursor;
+    @Schema(description = "Total aproximado de elementos; puede no coincidir con las páginas tras cambios recientes")
+    private Long totalCount;
+}
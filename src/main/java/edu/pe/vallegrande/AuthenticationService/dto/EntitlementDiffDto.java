@@ -0,0 +1,33 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO con la diferencia de permisos efectivos entre un usuario y la referencia
+ * added: permisos que el usuario ganaría al igualar la referencia; removed: permisos que perdería
+ * En modo por lotes la lista common se omite y solo se informa commonCount
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EntitlementDiffDto {
+    
+    private UUID userId;
+    private UUID referenceUserId;
+    private List<UUID> referenceRoleIds;
+    private List<PermissionResponseDto> added;
+    private List<PermissionResponseDto> removed;
+    private List<PermissionResponseDto> common;
+    private Integer addedCount;
+    private Integer removedCount;
+    private Integer commonCount;
+}
@@ -0,0 +1,25 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para comparar los permisos efectivos de usuarios contra una referencia
+ * La referencia es otro usuario (referenceUserId) o una plantilla de roles (referenceRoleIds)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntitlementDiffRequestDto {
+    
+    private UUID userId; // Comparación individual
+    private List<UUID> userIds; // Modo por lotes
+    private UUID referenceUserId;
+    private List<UUID> referenceRoleIds;
+}
@@ -0,0 +1,26 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO para simular el impacto de un cambio de autorización sin aplicarlo
+ * change: REMOVE_PERMISSION_FROM_ROLE (roleId, permissionId), REMOVE_ROLE_FROM_USER (userId, roleId)
+ * o DEACTIVATE_ROLE (roleId)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImpactSimulationRequestDto {
+    
+    private String change;
+    private UUID roleId;
+    private UUID permissionId;
+    private UUID userId;
+    private Integer limit; // Máximo de IDs de usuario en la respuesta (el conteo siempre es completo)
+}
@@ -0,0 +1,31 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO con el resultado de una simulación de impacto
+ * Solo cuenta usuarios que perderían el permiso por completo (no lo reciben por otro rol)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImpactSimulationResultDto {
+    
+    private String change;
+    private UUID roleId;
+    private UUID permissionId;
+    private UUID userId;
+    private Long affectedUserCount;
+    private List<UUID> affectedUserIds;
+    private Boolean truncated;
+    private List<PermissionImpactDto> permissions;
+}
@@ -0,0 +1,28 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO para asignar un rol a todos los usuarios que cumplen un selector
+ * Los criterios presentes se combinan con AND; managerId incluye todo el subárbol de subordinados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MassRoleAssignmentRequestDto {
+    
+    private UUID areaId;
+    private UUID positionId;
+    private UUID managerId;
+    private String status; // ACTIVE, INACTIVE, SUSPENDED
+    private UUID assignedBy;
+    private LocalDate expirationDate;
+    private Boolean active;
+}
@@ -0,0 +1,21 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO con el resultado de una asignación masiva por selector
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MassRoleAssignmentResultDto {
+    
+    private UUID roleId;
+    private Long affectedUsers;
+}
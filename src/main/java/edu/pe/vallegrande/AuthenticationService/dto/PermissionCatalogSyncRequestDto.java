@@ -0,0 +1,26 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO con el catálogo completo de permisos que declara un servicio
+ * Con prune = true se eliminan los permisos de pruneModules que no figuren en la lista;
+ * si pruneModules no se indica, se usan los módulos presentes en permissions.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCatalogSyncRequestDto {
+    
+    private List<PermissionRequestDto> permissions;
+    private Boolean prune;
+    private List<String> pruneModules;
+    private UUID createdBy;
+}
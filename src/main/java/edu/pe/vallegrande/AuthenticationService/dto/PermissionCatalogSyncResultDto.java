@@ -0,0 +1,22 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de sincronizar un catálogo de permisos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCatalogSyncResultDto {
+    
+    private Integer received;
+    private Integer created;
+    private Integer updated;
+    private Integer unchanged;
+    private Integer deleted;
+}
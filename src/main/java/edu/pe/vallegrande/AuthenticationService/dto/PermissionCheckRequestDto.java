@@ -0,0 +1,21 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para la verificación masiva de permisos
+ * Cada permiso se expresa como "module:action" o "module:action:resource"
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionCheckRequestDto {
+    
+    private List<String> permissions;
+}
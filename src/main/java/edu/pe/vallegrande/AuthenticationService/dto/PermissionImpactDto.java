@@ -0,0 +1,21 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO con la cantidad de usuarios que perderían un permiso concreto
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionImpactDto {
+    
+    private UUID permissionId;
+    private Long affectedUsers;
+}
@@ -0,0 +1,26 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para consultas de permisos por RSocket
+ * Se usa module/action/resource para una verificación puntual o permissions para varias
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionQueryDto {
+    
+    private UUID userId;
+    private String module;
+    private String action;
+    private String resource;
+    private List<String> permissions; // "module:action" o "module:action:resource"
+}
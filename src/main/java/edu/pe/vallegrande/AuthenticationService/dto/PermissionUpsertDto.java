@@ -0,0 +1,21 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Fila devuelta por el upsert del catálogo: created es false cuando se actualizó un permiso existente
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionUpsertDto {
+    
+    private UUID id;
+    private Boolean created;
+}
@@ -0,0 +1,23 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una carga masiva de personas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonBulkLoadResultDto {
+    
+    private Long received;
+    private Long loaded;
+    private Long rejected;
+    private List<PersonLoadConflictDto> conflicts;
+}
@@ -0,0 +1,27 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de un registro rechazado en la carga masiva de personas
+ * reason: INVALID, INVALID_DOCUMENT_TYPE, DOCUMENT_EXISTS, EMAIL_EXISTS,
+ * DUPLICATE_DOCUMENT_IN_FILE o DUPLICATE_EMAIL_IN_FILE
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PersonLoadConflictDto {
+    
+    private Long line;
+    private Integer documentTypeId;
+    private String documentNumber;
+    private String personalEmail;
+    private String reason;
+    private String message;
+}
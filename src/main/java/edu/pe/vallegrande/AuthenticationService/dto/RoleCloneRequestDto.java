@@ -0,0 +1,28 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para clonar un rol con sus permisos
+ * includeModules limita la copia a esos módulos y excludeModules los omite; vacíos no filtran.
+ * copyInheritance copia también los roles padre (sus permisos heredados no pasan por los filtros).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleCloneRequestDto {
+    
+    private String name;
+    private String description;
+    private UUID createdBy;
+    private List<String> includeModules;
+    private List<String> excludeModules;
+    private Boolean copyInheritance;
+}
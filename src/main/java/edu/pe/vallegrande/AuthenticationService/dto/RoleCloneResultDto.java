@@ -0,0 +1,20 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de clonar un rol
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleCloneResultDto {
+    
+    private RoleResponseDto role;
+    private Integer copiedPermissions;
+    private Integer copiedParentRoles;
+}
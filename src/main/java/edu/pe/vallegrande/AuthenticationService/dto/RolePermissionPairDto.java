@@ -0,0 +1,21 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO para un par rol-permiso dentro de una asignación masiva
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolePermissionPairDto {
+    
+    private UUID roleId;
+    private UUID permissionId;
+}
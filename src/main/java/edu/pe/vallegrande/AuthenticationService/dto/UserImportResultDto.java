@@ -0,0 +1,27 @@
+package edu.pe.vallegrande.AuthenticationService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO con el resultado de cada registro en una importación masiva de usuarios
+ * status: CREATED, DUPLICATE, INVALID o INVALID_REFERENCE
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResultDto {
+    
+    private Long line;
+    private String username;
+    private String status;
+    private UUID userId;
+    private String message;
+}
@@ -1,12 +1,13 @@
 package edu.pe.vallegrande.AuthenticationService.dto;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -29,7 +30,9 @@ public class UserResponseDto {
     private LocalDateTime lastLogin;
     private Integer loginAttempts;
     private LocalDateTime blockedUntil;
-    private Map<String, Object> preferences;
+    @JsonRawValue
+    @Schema(type = "object", description = "Preferencias del usuario (JSON)")
+    private String preferences; // JSON tal como está almacenado, sin reinterpretarlo
     private UUID createdBy;
     private LocalDateTime createdAt;
     private UUID updatedBy;
@@ -0,0 +1,79 @@
+package edu.pe.vallegrande.AuthenticationService.event;
+
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publicador en memoria de eventos de cambio de autorización
+ * 
+ * Asigna a cada evento un número de secuencia creciente y conserva los últimos eventos en un
+ * buffer acotado para que los clientes puedan reanudar desde el último id recibido. Si el id
+ * solicitado ya salió del buffer (o el servicio se reinició) se emite de inmediato un evento RESYNC.
+ */
+@Slf4j
+@Component
+public class AuthorizationEventPublisher {
+
+    // Semilla basada en el reloj para que la secuencia siga creciendo tras un reinicio
+    private final long seed = System.currentTimeMillis() * 1000;
+    private final AtomicLong sequence = new AtomicLong(seed);
+    private final Sinks.Many<AuthorizationEventDto> sink;
+    private final int bufferSize;
+
+    public AuthorizationEventPublisher(@Value("${authorization.events.buffer-size:1000}") int bufferSize) {
+        this.sink = Sinks.many().replay().limit(bufferSize);
+        this.bufferSize = bufferSize;
+    }
+
+    public void publish(AuthorizationEventDto event) {
+        // La emisión se serializa para que el orden del stream coincida con la secuencia
+        synchronized (sink) {
+            AuthorizationEventDto sequenced = event.toBuilder()
+                    .sequence(sequence.incrementAndGet())
+                    .occurredAt(LocalDateTime.now())
+                    .build();
+            Sinks.EmitResult result = sink.tryEmitNext(sequenced);
+            if (result.isFailure()) {
+                log.warn("No se pudo publicar el evento de autorización {}: {}", sequenced.getType(), result);
+            }
+        }
+    }
+
+    public void publishAll(Collection<AuthorizationEventDto> events) {
+        events.forEach(this::publish);
+    }
+
+    /**
+     * Stream de eventos posteriores a lastEventId, o solo eventos nuevos si no se indica
+     */
+    public Flux<AuthorizationEventDto> stream(Long lastEventId) {
+        if (lastEventId == null) {
+            return Flux.defer(() -> {
+                long from = sequence.get();
+                return sink.asFlux().filter(event -> event.getSequence() > from);
+            });
+        }
+        return Flux.defer(() -> {
+            long latest = sequence.get();
+            // La secuencia es contigua en este proceso: el buffer conserva los últimos bufferSize ids
+            long oldestRetained = Math.max(seed + 1, latest - bufferSize + 1);
+            if (lastEventId > latest || lastEventId + 1 < oldestRetained) {
+                // El cliente perdió eventos: debe recargar su caché, así que solo recibe los posteriores
+                return Flux.just(AuthorizationEventDto.builder()
+                                .type(AuthorizationEventType.RESYNC)
+                                .occurredAt(LocalDateTime.now())
+                                .build())
+                        .concatWith(sink.asFlux().filter(event -> event.getSequence() > latest));
+            }
+            return sink.asFlux().filter(event -> event.getSequence() > lastEventId);
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package edu.pe.vallegrande.AuthenticationService.event;
+
+/**
+ * Tipos de eventos de cambio de autorización publicados a los servicios consumidores
+ */
+public enum AuthorizationEventType {
+    ROLE_ASSIGNED,
+    ROLE_REMOVED,
+    ROLE_EXPIRED,
+    PERMISSION_GRANTED,
+    PERMISSION_REVOKED,
+    ROLE_UPDATED,
+    ROLE_DEACTIVATED,
+    ROLE_RESTORED,
+    ROLE_INHERITANCE_ADDED,
+    ROLE_INHERITANCE_REMOVED,
+    PERMISSION_UPDATED,
+    PERMISSION_DELETED,
+    USER_CREATED,
+    USER_STATUS_CHANGED,
+    USER_SUSPENDED,
+    USER_BLOCKED,
+    USER_UNBLOCKED,
+    /** El cliente perdió eventos (fuera del buffer o reinicio del servicio) y debe recargar su caché */
+    RESYNC
+}
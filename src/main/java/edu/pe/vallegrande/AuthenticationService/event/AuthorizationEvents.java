@@ -0,0 +1,38 @@
+package edu.pe.vallegrande.AuthenticationService.event;
+
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+
+import java.util.UUID;
+
+/**
+ * Fábricas de eventos de cambio de autorización
+ */
+public final class AuthorizationEvents {
+
+    private AuthorizationEvents() {
+    }
+
+    public static AuthorizationEventDto userRole(AuthorizationEventType type, UUID userId, UUID roleId) {
+        return AuthorizationEventDto.builder().type(type).userId(userId).roleId(roleId).build();
+    }
+
+    public static AuthorizationEventDto rolePermission(AuthorizationEventType type, UUID roleId, UUID permissionId) {
+        return AuthorizationEventDto.builder().type(type).roleId(roleId).permissionId(permissionId).build();
+    }
+
+    public static AuthorizationEventDto role(AuthorizationEventType type, UUID roleId) {
+        return AuthorizationEventDto.builder().type(type).roleId(roleId).build();
+    }
+
+    public static AuthorizationEventDto roleInheritance(AuthorizationEventType type, UUID roleId, UUID parentRoleId) {
+        return AuthorizationEventDto.builder().type(type).roleId(roleId).parentRoleId(parentRoleId).build();
+    }
+
+    public static AuthorizationEventDto permission(AuthorizationEventType type, UUID permissionId) {
+        return AuthorizationEventDto.builder().type(type).permissionId(permissionId).build();
+    }
+
+    public static AuthorizationEventDto user(AuthorizationEventType type, UUID userId, String status) {
+        return AuthorizationEventDto.builder().type(type).userId(userId).status(status).build();
+    }
+}
@@ -0,0 +1,48 @@
+package edu.pe.vallegrande.AuthenticationService.event;
+
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.model.OutboxEvent;
+import edu.pe.vallegrande.AuthenticationService.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Escribe eventos de autorización en el outbox
+ * Debe invocarse dentro de la transacción del cambio para que ambos se confirmen juntos
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorizationOutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public Mono<Void> record(AuthorizationEventDto event) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                        .eventType(event.getType().name())
+                        .userId(event.getUserId())
+                        .roleId(event.getRoleId())
+                        .permissionId(event.getPermissionId())
+                        .parentRoleId(event.getParentRoleId())
+                        .status(event.getStatus())
+                        .build())
+                .then();
+    }
+
+    public Mono<Void> recordAll(List<AuthorizationEventDto> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        return outboxEventRepository.insertAll(
+                        events.stream().map(event -> event.getType().name()).toArray(String[]::new),
+                        events.stream().map(AuthorizationEventDto::getUserId).toArray(UUID[]::new),
+                        events.stream().map(AuthorizationEventDto::getRoleId).toArray(UUID[]::new),
+                        events.stream().map(AuthorizationEventDto::getPermissionId).toArray(UUID[]::new),
+                        events.stream().map(AuthorizationEventDto::getParentRoleId).toArray(UUID[]::new),
+                        events.stream().map(AuthorizationEventDto::getStatus).toArray(String[]::new))
+                .then();
+    }
+}
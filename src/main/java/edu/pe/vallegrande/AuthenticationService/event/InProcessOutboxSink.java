@@ -0,0 +1,36 @@
+package edu.pe.vallegrande.AuthenticationService.event;
+
+import edu.pe.vallegrande.AuthenticationService.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+/**
+ * Sink local del outbox: reemite los registros en memoria
+ * Solo se registra con authorization.outbox.in-process-sink=true (desarrollo y pruebas)
+ */
+@Slf4j
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final Sinks.Many<OutboxEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public Mono<Void> publish(List<OutboxEvent> events) {
+        return Mono.fromRunnable(() -> {
+            synchronized (sink) {
+                events.forEach(sink::tryEmitNext);
+            }
+            log.debug("Outbox: {} registros entregados al sink local", events.size());
+        });
+    }
+
+    /**
+     * Registros entregados desde el momento de la suscripción
+     */
+    public Flux<OutboxEvent> events() {
+        return sink.asFlux();
+    }
+}
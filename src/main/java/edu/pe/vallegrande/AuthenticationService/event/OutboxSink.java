@@ -0,0 +1,18 @@
+package edu.pe.vallegrande.AuthenticationService.event;
+
+import edu.pe.vallegrande.AuthenticationService.model.OutboxEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Destino al que el relay entrega los lotes del outbox (broker, webhook, etc.)
+ * 
+ * El lote se marca como publicado solo si el Mono completa sin error; ante un error el relay
+ * revierte la transacción y el lote se reintenta, por lo que la entrega es al menos una vez
+ * y los consumidores deben deduplicar por id.
+ */
+public interface OutboxSink {
+
+    Mono<Void> publish(List<OutboxEvent> events);
+}
@@ -44,6 +44,19 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse));
     }
     
+    @ExceptionHandler(PreconditionFailedException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        log.error("Precondición fallida: {}", ex.getMessage());
+        
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        errorResponse.put("error", "Precondición fallida");
+        errorResponse.put("message", ex.getMessage());
+        
+        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse));
+    }
+    
     @ExceptionHandler(IllegalStateException.class)
     public Mono<ResponseEntity<Map<String, Object>>> handleIllegalStateException(IllegalStateException ex) {
         log.error("Estado ilegal: {}", ex.getMessage());
@@ -0,0 +1,15 @@
+package edu.pe.vallegrande.AuthenticationService.exception;
+
+/**
+ * Excepción lanzada cuando la versión esperada (If-Match) no coincide con la actual del recurso
+ */
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+    
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
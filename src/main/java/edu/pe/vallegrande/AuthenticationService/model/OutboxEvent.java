@@ -0,0 +1,51 @@
+package edu.pe.vallegrande.AuthenticationService.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad OutboxEvent para el registro durable de cambios de autorización
+ * Se inserta en la misma transacción que el cambio y la publica el relay del outbox
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("authorization_outbox")
+public class OutboxEvent {
+
+    @Id
+    private Long id;
+
+    @Column("event_type")
+    private String eventType;
+
+    @Column("user_id")
+    private UUID userId;
+
+    @Column("role_id")
+    private UUID roleId;
+
+    @Column("permission_id")
+    private UUID permissionId;
+
+    @Column("parent_role_id")
+    private UUID parentRoleId;
+
+    @Column("status")
+    private String status;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("published_at")
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,31 @@
+package edu.pe.vallegrande.AuthenticationService.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Fila de la clausura transitiva de la herencia de roles
+ * roleId hereda de inheritedRoleId a la distancia depth (0 para el propio rol)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("role_closure")
+public class RoleClosure {
+    
+    @Column("role_id")
+    private UUID roleId;
+    
+    @Column("inherited_role_id")
+    private UUID inheritedRoleId;
+    
+    @Column("depth")
+    private Integer depth;
+}
@@ -0,0 +1,31 @@
+package edu.pe.vallegrande.AuthenticationService.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad RoleHierarchy para la herencia directa entre roles (el hijo hereda del padre)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("roles_hierarchy")
+public class RoleHierarchy {
+    
+    @Column("parent_role_id")
+    private UUID parentRoleId;
+    
+    @Column("child_role_id")
+    private UUID childRoleId;
+    
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package edu.pe.vallegrande.AuthenticationService.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad RoutePermission para las reglas de autorización por ruta
+ * Asocia un método HTTP y una plantilla de ruta con el permiso requerido
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("route_permissions")
+public class RoutePermission {
+
+    @Id
+    private UUID id;
+
+    @Column("http_method")
+    private String httpMethod; // GET, POST, ... o * para cualquiera
+
+    @Column("path_pattern")
+    private String pathPattern; // ej. /api/v1/users/{id} o /api/v1/roles/**
+
+    @Column("module")
+    private String module;
+
+    @Column("action")
+    private String action;
+
+    @Column("resource")
+    private String resource;
+
+    @Column("active")
+    private Boolean active;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package edu.pe.vallegrande.AuthenticationService.model;
 
+import io.r2dbc.postgresql.codec.Json;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -55,8 +56,11 @@ public class User {
     @Column("blocked_until")
     private LocalDateTime blockedUntil;
 
+    /**
+     * JSONB tal como lo entrega el driver; solo se interpreta cuando la lógica del servidor lo necesita
+     */
     @Column("preferences")
-    private String preferences;
+    private Json preferences;
 
     @Column("created_by")
     private UUID createdBy;
@@ -0,0 +1,132 @@
+package edu.pe.vallegrande.AuthenticationService.pagination;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Paginación por cursor (keyset) sobre (created_at, id)
+ *
+ * Cada página es una consulta acotada que continúa tras la última fila de la anterior usando el
+ * índice (created_at, id), por lo que su costo no crece con la profundidad de la página. La
+ * proyección fields= se traduce a la lista de columnas del SELECT.
+ */
+@Slf4j
+@Component
+public class KeysetPageQuery {
+
+    private static final String CURSOR_CREATED_AT = "page_created_at";
+    private static final String CURSOR_ID = "page_id";
+
+    private final DatabaseClient databaseClient;
+    private final int maxPageSize;
+
+    public KeysetPageQuery(DatabaseClient databaseClient,
+            @Value("${authorization.pagination.max-page-size:500}") int maxPageSize) {
+        this.databaseClient = databaseClient;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Obtener una página de la tabla
+     *
+     * @param filters igualdades columna = valor fijadas por el servicio (los valores nulos se ignoran)
+     * @param cursor  nextCursor de la página anterior, o null para la primera
+     * @param fields  campos separados por comas, o null para todos los declarados
+     */
+    public Mono<CursorPageDto<Map<String, Object>>> page(KeysetTable table, Map<String, Object> filters,
+            String cursor, int size, String fields) {
+        List<String> selected;
+        PageCursor after;
+        try {
+            selected = selectFields(table, fields);
+            after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        } catch (IllegalStateException e) {
+            return Mono.error(e);
+        }
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+
+        StringBuilder sql = new StringBuilder("SELECT created_at AS ").append(CURSOR_CREATED_AT)
+                .append(", id AS ").append(CURSOR_ID);
+        selected.forEach(field -> sql.append(", ").append(table.expression(field)).append(" AS \"").append(field).append('"'));
+        sql.append(" FROM ").append(table.name()).append(" WHERE true");
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        filters.forEach((column, value) -> {
+            if (value != null) {
+                String parameter = "filter" + bindings.size();
+                sql.append(" AND ").append(column).append(" = :").append(parameter);
+                bindings.put(parameter, value);
+            }
+        });
+        if (after != null) {
+            sql.append(" AND (created_at, id) > (:afterCreatedAt, :afterId)");
+            bindings.put("afterCreatedAt", after.createdAt());
+            bindings.put("afterId", after.id());
+        }
+        // Se pide un registro extra para saber si existe una página siguiente
+        sql.append(" ORDER BY created_at, id LIMIT :limit");
+        bindings.put("limit", pageSize + 1);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(row -> new PageRow(
+                        new PageCursor(row.get(CURSOR_CREATED_AT, LocalDateTime.class), row.get(CURSOR_ID, UUID.class)),
+                        mapRow(table, selected, row)))
+                .all()
+                .collectList()
+                .map(rows -> {
+                    boolean hasMore = rows.size() > pageSize;
+                    List<PageRow> items = hasMore ? rows.subList(0, pageSize) : rows;
+                    return CursorPageDto.<Map<String, Object>>builder()
+                            .items(items.stream().map(PageRow::values).toList())
+                            .nextCursor(hasMore ? items.get(items.size() - 1).cursor().encode() : null)
+                            .build();
+                })
+                .doOnError(error -> log.error("Error al paginar {}: {}", table.name(), error.getMessage()));
+    }
+
+    static List<String> selectFields(KeysetTable table, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return table.defaultFields();
+        }
+        LinkedHashSet<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (table.expression(name) == null) {
+                throw new IllegalStateException("Campo no permitido en fields: " + name);
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? table.defaultFields() : List.copyOf(selected);
+    }
+
+    private static Map<String, Object> mapRow(KeysetTable table, List<String> selected, Readable row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : selected) {
+            Object value = row.get(field);
+            // Los campos JSON se escriben tal como vienen de la base de datos, sin interpretarlos
+            values.put(field, value != null && table.isJson(field) ? new RawValue(value.toString()) : value);
+        }
+        return values;
+    }
+
+    private record PageRow(PageCursor cursor, Map<String, Object> values) {
+    }
+}
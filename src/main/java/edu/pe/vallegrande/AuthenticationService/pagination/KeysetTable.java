@@ -0,0 +1,81 @@
+package edu.pe.vallegrande.AuthenticationService.pagination;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tabla paginable por (created_at, id) y los campos que el cliente puede pedir con fields=
+ *
+ * Cada campo se traduce a una expresión SQL fija; el nombre recibido nunca se concatena en la consulta.
+ * Las columnas sensibles (hash de contraseña) simplemente no se declaran.
+ */
+public final class KeysetTable {
+
+    private final String name;
+    private final Map<String, String> fields;
+    private final Set<String> jsonFields;
+
+    private KeysetTable(String name, Map<String, String> fields, Set<String> jsonFields) {
+        this.name = name;
+        this.fields = Collections.unmodifiableMap(fields);
+        this.jsonFields = Collections.unmodifiableSet(jsonFields);
+    }
+
+    public static Builder of(String name) {
+        return new Builder(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Expresión SQL de un campo, o null si no está permitido
+     */
+    public String expression(String field) {
+        return fields.get(field);
+    }
+
+    public boolean isJson(String field) {
+        return jsonFields.contains(field);
+    }
+
+    /**
+     * Campos devueltos cuando el cliente no indica fields=
+     */
+    public List<String> defaultFields() {
+        return List.copyOf(fields.keySet());
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private final Map<String, String> fields = new LinkedHashMap<>();
+        private final Set<String> jsonFields = new LinkedHashSet<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder field(String field, String expression) {
+            fields.put(field, expression);
+            return this;
+        }
+
+        /**
+         * Campo JSON: la expresión debe devolver texto y se entrega como JSON anidado sin reinterpretarlo
+         */
+        public Builder jsonField(String field, String expression) {
+            jsonFields.add(field);
+            return field(field, expression);
+        }
+
+        public KeysetTable build() {
+            return new KeysetTable(name, new LinkedHashMap<>(fields), new LinkedHashSet<>(jsonFields));
+        }
+    }
+}
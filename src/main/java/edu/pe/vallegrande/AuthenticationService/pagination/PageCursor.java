@@ -0,0 +1,39 @@
+package edu.pe.vallegrande.AuthenticationService.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posición de una página en el orden (created_at, id)
+ *
+ * Se entrega al cliente como token opaco (Base64 URL-safe); su formato interno no forma parte del contrato.
+ */
+public record PageCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodificar un token recibido; un token alterado o de otro formato es un error del cliente
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalStateException("Cursor de paginación inválido");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalStateException("Cursor de paginación inválido", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.pe.vallegrande.AuthenticationService.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Lectura en streaming de tablas completas como entidades
+ *
+ * La consulta se ejecuta con fetchSize para que el driver traiga las filas por bloques desde un
+ * cursor del servidor, y cada fila se convierte con el mismo mapeo que usan los repositorios.
+ * La demanda del suscriptor se propaga al driver, por lo que la memoria no depende del tamaño de la tabla.
+ */
+@Slf4j
+@Component
+public class EntityStreamReader {
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final int fetchSize;
+
+    public EntityStreamReader(R2dbcEntityTemplate entityTemplate,
+            @Value("${authorization.export.fetch-size:1000}") int fetchSize) {
+        this.databaseClient = entityTemplate.getDatabaseClient();
+        this.converter = entityTemplate.getConverter();
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Transmitir el resultado de una consulta fija (sin parámetros) como entidades del tipo indicado
+     */
+    public <T> Flux<T> stream(Class<T> type, String sql) {
+        log.info("Transmitiendo {} en streaming (fetchSize={})", type.getSimpleName(), fetchSize);
+        return databaseClient.sql(sql)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, metadata) -> converter.read(type, row, metadata))
+                .all()
+                // Demanda acotada hacia el driver para respetar la contrapresión de la respuesta
+                .limitRate(fetchSize);
+    }
+}
@@ -0,0 +1,71 @@
+package edu.pe.vallegrande.AuthenticationService.repository;
+
+import edu.pe.vallegrande.AuthenticationService.model.OutboxEvent;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repositorio para el outbox de cambios de autorización
+ */
+@Repository
+public interface OutboxEventRepository extends R2dbcRepository<OutboxEvent, Long> {
+    
+    /**
+     * Insertar varios registros en una sola sentencia (arreglos paralelos)
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO authorization_outbox (event_type, user_id, role_id, permission_id, parent_role_id, status)
+        SELECT * FROM unnest(
+            CAST(:eventTypes AS varchar[]), CAST(:userIds AS uuid[]), CAST(:roleIds AS uuid[]),
+            CAST(:permissionIds AS uuid[]), CAST(:parentRoleIds AS uuid[]), CAST(:statuses AS varchar[]))
+        """)
+    Mono<Integer> insertAll(String[] eventTypes, UUID[] userIds, UUID[] roleIds, UUID[] permissionIds,
+                            UUID[] parentRoleIds, String[] statuses);
+    
+    /**
+     * Bloquear el siguiente lote pendiente; otras instancias del relay saltan las filas bloqueadas
+     */
+    @Query("""
+        SELECT * FROM authorization_outbox
+        WHERE published_at IS NULL
+        ORDER BY id
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+        """)
+    Flux<OutboxEvent> lockPendingBatch(int batchSize);
+    
+    /**
+     * Marcar registros como publicados
+     */
+    @Modifying
+    @Query("UPDATE authorization_outbox SET published_at = NOW() WHERE id = ANY(:ids)")
+    Mono<Integer> markPublished(Long[] ids);
+    
+    /**
+     * Eliminar registros publicados antes de la fecha indicada
+     */
+    @Modifying
+    @Query("DELETE FROM authorization_outbox WHERE published_at < :before")
+    Mono<Integer> deletePublishedBefore(LocalDateTime before);
+    
+    /**
+     * Eliminar registros nunca publicados creados antes de la fecha indicada
+     */
+    @Modifying
+    @Query("DELETE FROM authorization_outbox WHERE published_at IS NULL AND created_at < :before")
+    Mono<Integer> deletePendingBefore(LocalDateTime before);
+    
+    /**
+     * Contar registros pendientes de publicar
+     */
+    @Query("SELECT COUNT(*) FROM authorization_outbox WHERE published_at IS NULL")
+    Mono<Long> countPending();
+}
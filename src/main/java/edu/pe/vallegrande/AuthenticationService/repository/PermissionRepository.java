@@ -1,5 +1,6 @@
 package edu.pe.vallegrande.AuthenticationService.repository;
 
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionUpsertDto;
 import edu.pe.vallegrande.AuthenticationService.model.Permission;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -16,15 +17,18 @@ import java.util.UUID;
 public interface PermissionRepository extends R2dbcRepository<Permission, UUID> {
     
     /**
-     * Obtiene los permisos efectivos de un usuario a través de sus roles
+     * Obtiene los permisos efectivos de un usuario a través de sus roles y de los roles que estos heredan
+     * La herencia se lee de la clausura precalculada (role_closure), sin recorrer la jerarquía
      */
     @Query("""
-        SELECT p.* FROM permissions p
-        INNER JOIN roles_permissions rp ON p.id = rp.permission_id
-        INNER JOIN users_roles ur ON rp.role_id = ur.role_id
+        SELECT DISTINCT p.* FROM users_roles ur
+        INNER JOIN roles r ON r.id = ur.role_id AND r.active = true
+        INNER JOIN role_closure rc ON rc.role_id = ur.role_id
+        INNER JOIN roles ir ON ir.id = rc.inherited_role_id AND ir.active = true
+        INNER JOIN roles_permissions rp ON rp.role_id = rc.inherited_role_id
+        INNER JOIN permissions p ON p.id = rp.permission_id
         WHERE ur.user_id = :userId 
         AND ur.active = true
-        AND (ur.expiration_date IS NULL OR ur.expiration_date > NOW())
         """)
     Flux<Permission> findUserPermissions(UUID userId);
     
@@ -39,6 +43,12 @@ public interface PermissionRepository extends R2dbcRepository<Permission, UUID>
         """)
     Mono<Permission> findByModuleAndActionAndResource(String module, String action, String resource);
     
+    /**
+     * Obtener cuáles de los IDs dados existen
+     */
+    @Query("SELECT id FROM permissions WHERE id = ANY(:ids)")
+    Flux<UUID> findExistingIds(UUID[] ids);
+    
     /**
      * Obtiene permisos por módulo
      */
@@ -55,4 +65,38 @@ public interface PermissionRepository extends R2dbcRepository<Permission, UUID>
         AND (resource = :resource OR (:resource IS NULL AND resource IS NULL))
         """)
     Mono<Boolean> existsByModuleAndActionAndResource(String module, String action, String resource);
-}
\ No newline at end of file
+    
+    /**
+     * Insertar o actualizar un lote del catálogo en una sola sentencia (arreglos paralelos)
+     * Solo devuelve las filas creadas o cuya descripción cambió
+     */
+    @Query("""
+        INSERT INTO permissions (module, action, resource, description, created_at, created_by)
+        SELECT entry.module, entry.action, entry.resource, entry.description, NOW(), :createdBy
+        FROM unnest(
+            CAST(:modules AS varchar[]), CAST(:actions AS varchar[]),
+            CAST(:resources AS varchar[]), CAST(:descriptions AS text[])
+        ) AS entry(module, action, resource, description)
+        ON CONFLICT (module, action, (COALESCE(resource, '')))
+        DO UPDATE SET description = EXCLUDED.description
+        WHERE permissions.description IS DISTINCT FROM EXCLUDED.description
+        RETURNING id, (xmax = 0) AS created
+        """)
+    Flux<PermissionUpsertDto> upsertAll(String[] modules, String[] actions, String[] resources,
+                                        String[] descriptions, UUID createdBy);
+    
+    /**
+     * Eliminar los permisos de los módulos dados que no figuran en el catálogo declarado
+     */
+    @Query("""
+        DELETE FROM permissions
+        WHERE module = ANY(CAST(:scopeModules AS varchar[]))
+        AND (module, action, COALESCE(resource, '')) NOT IN (
+            SELECT entry.module, entry.action, COALESCE(entry.resource, '')
+            FROM unnest(CAST(:modules AS varchar[]), CAST(:actions AS varchar[]), CAST(:resources AS varchar[]))
+                AS entry(module, action, resource)
+        )
+        RETURNING id
+        """)
+    Flux<UUID> deleteMissing(String[] scopeModules, String[] modules, String[] actions, String[] resources);
+}
@@ -0,0 +1,165 @@
+package edu.pe.vallegrande.AuthenticationService.repository;
+
+import edu.pe.vallegrande.AuthenticationService.model.RoleClosure;
+import edu.pe.vallegrande.AuthenticationService.model.RoleHierarchy;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Repositorio para la herencia entre roles y su clausura transitiva (role_closure)
+ * 
+ * La clausura se mantiene de forma incremental en la misma transacción que cada cambio de
+ * herencia, de modo que las consultas de permisos efectivos nunca recorren la jerarquía.
+ * Solo se propaga a través de roles intermedios activos: desactivar un rol corta la herencia
+ * que pasaba por él (el propio rol como extremo se filtra en las consultas de permisos).
+ */
+@Repository
+public interface RoleHierarchyRepository extends R2dbcRepository<RoleHierarchy, UUID> {
+    
+    /**
+     * Serializar los cambios de herencia hasta el fin de la transacción
+     * Evita que dos aristas concurrentes formen un ciclo que ninguna de las dos ve por separado
+     */
+    @Query("SELECT true FROM pg_advisory_xact_lock(hashtext('roles_hierarchy'))")
+    Mono<Boolean> lockHierarchy();
+    
+    /**
+     * Verificar si existe la herencia directa padre-hijo
+     */
+    Mono<Boolean> existsByParentRoleIdAndChildRoleId(UUID parentRoleId, UUID childRoleId);
+    
+    /**
+     * Verificar si el rol hereda (directa o transitivamente) de otro; un rol se hereda a sí mismo
+     */
+    @Query("""
+        SELECT EXISTS (
+            SELECT 1 FROM role_closure
+            WHERE role_id = :roleId AND inherited_role_id = :inheritedRoleId
+        )
+        """)
+    Mono<Boolean> inheritsFrom(UUID roleId, UUID inheritedRoleId);
+    
+    /**
+     * Registrar la fila del propio rol (depth 0) en la clausura
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO role_closure (role_id, inherited_role_id, depth)
+        VALUES (:roleId, :roleId, 0)
+        ON CONFLICT DO NOTHING
+        """)
+    Mono<Integer> insertSelf(UUID roleId);
+    
+    /**
+     * Crear la herencia directa padre-hijo
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO roles_hierarchy (parent_role_id, child_role_id, created_at)
+        VALUES (:parentRoleId, :childRoleId, NOW())
+        """)
+    Mono<Integer> insertEdge(UUID parentRoleId, UUID childRoleId);
+    
+    /**
+     * Propagar una nueva arista a la clausura: todo rol que hereda del hijo pasa a heredar
+     * de todo aquello que hereda el padre (incluidos ambos)
+     * El hijo y el padre solo se atraviesan como intermedios si están activos
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO role_closure (role_id, inherited_role_id, depth)
+        SELECT below.role_id, above.inherited_role_id, MIN(below.depth + above.depth + 1)
+        FROM role_closure below
+        CROSS JOIN role_closure above
+        INNER JOIN roles child ON child.id = :childRoleId
+        INNER JOIN roles parent ON parent.id = :parentRoleId
+        WHERE below.inherited_role_id = :childRoleId
+        AND above.role_id = :parentRoleId
+        AND (below.depth = 0 OR child.active = true)
+        AND (above.depth = 0 OR parent.active = true)
+        GROUP BY below.role_id, above.inherited_role_id
+        ON CONFLICT (role_id, inherited_role_id)
+        DO UPDATE SET depth = LEAST(role_closure.depth, EXCLUDED.depth)
+        """)
+    Mono<Integer> addClosurePaths(UUID parentRoleId, UUID childRoleId);
+    
+    /**
+     * Eliminar la herencia directa padre-hijo
+     */
+    @Modifying
+    @Query("DELETE FROM roles_hierarchy WHERE parent_role_id = :parentRoleId AND child_role_id = :childRoleId")
+    Mono<Integer> deleteEdge(UUID parentRoleId, UUID childRoleId);
+    
+    /**
+     * Quitar las filas heredadas (depth > 0) de todos los roles que heredan del rol dado
+     * Devuelve los roles afectados, cuya clausura debe recalcularse con rebuildClosure
+     */
+    @Query("""
+        DELETE FROM role_closure
+        WHERE depth > 0
+        AND role_id IN (SELECT role_id FROM role_closure WHERE inherited_role_id = :roleId)
+        RETURNING role_id
+        """)
+    Flux<UUID> detachInheritors(UUID roleId);
+    
+    /**
+     * Recalcular desde roles_hierarchy las filas heredadas de los roles dados (solo el subárbol afectado)
+     * Un camino solo continúa más allá de un rol heredado si ese rol está activo
+     */
+    @Modifying
+    @Query("""
+        WITH RECURSIVE paths (role_id, inherited_role_id, depth) AS (
+            SELECT h.child_role_id, h.parent_role_id, 1
+            FROM roles_hierarchy h
+            WHERE h.child_role_id = ANY(CAST(:roleIds AS uuid[]))
+            UNION ALL
+            SELECT p.role_id, h.parent_role_id, p.depth + 1
+            FROM paths p
+            INNER JOIN roles r ON r.id = p.inherited_role_id AND r.active = true
+            INNER JOIN roles_hierarchy h ON h.child_role_id = p.inherited_role_id
+        )
+        INSERT INTO role_closure (role_id, inherited_role_id, depth)
+        SELECT role_id, inherited_role_id, MIN(depth)
+        FROM paths
+        GROUP BY role_id, inherited_role_id
+        ON CONFLICT DO NOTHING
+        """)
+    Mono<Integer> rebuildClosure(UUID[] roleIds);
+    
+    /**
+     * Obtener todas las filas heredadas de la clausura (carga del índice de accesos)
+     */
+    @Query("SELECT role_id, inherited_role_id, depth FROM role_closure WHERE depth > 0")
+    Flux<RoleClosure> findInheritedPairs();
+    
+    /**
+     * Copiar las herencias directas de un rol a otro recién creado; devuelve los roles padre copiados
+     */
+    @Query("""
+        INSERT INTO roles_hierarchy (parent_role_id, child_role_id, created_at)
+        SELECT parent_role_id, :targetRoleId, NOW()
+        FROM roles_hierarchy
+        WHERE child_role_id = :sourceRoleId
+        RETURNING parent_role_id
+        """)
+    Flux<UUID> copyParents(UUID sourceRoleId, UUID targetRoleId);
+    
+    /**
+     * Copiar las filas heredadas de la clausura de un rol a otro recién creado (sin herederos propios)
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO role_closure (role_id, inherited_role_id, depth)
+        SELECT :targetRoleId, inherited_role_id, depth
+        FROM role_closure
+        WHERE role_id = :sourceRoleId AND depth > 0
+        ON CONFLICT DO NOTHING
+        """)
+    Mono<Integer> copyClosure(UUID sourceRoleId, UUID targetRoleId);
+}
@@ -15,6 +15,15 @@ import java.util.UUID;
 @Repository
 public interface RolePermissionRepository extends R2dbcRepository<RolePermission, UUID> {
     
+    /**
+     * Obtener todos los pares rol-permiso de roles activos (carga del índice de accesos)
+     */
+    @Query("""
+        SELECT rp.role_id, rp.permission_id FROM roles_permissions rp
+        INNER JOIN roles r ON r.id = rp.role_id AND r.active = true
+        """)
+    Flux<RolePermission> findAllPairs();
+    
     /**
      * Buscar permisos asignados a un rol
      */
@@ -40,6 +49,19 @@ public interface RolePermissionRepository extends R2dbcRepository<RolePermission
      */
     Mono<Void> deleteByRoleIdAndPermissionId(UUID roleId, UUID permissionId);
     
+    /**
+     * Insertar pares rol-permiso en una sola sentencia, ignorando los que ya existen
+     * Devuelve solo las asignaciones creadas
+     */
+    @Query("""
+        INSERT INTO roles_permissions (role_id, permission_id, created_at)
+        SELECT pair.role_id, pair.permission_id, NOW()
+        FROM unnest(CAST(:roleIds AS uuid[]), CAST(:permissionIds AS uuid[])) AS pair(role_id, permission_id)
+        ON CONFLICT (role_id, permission_id) DO NOTHING
+        RETURNING *
+        """)
+    Flux<RolePermission> insertAllIgnoringExisting(UUID[] roleIds, UUID[] permissionIds);
+    
     /**
      * Obtener permisos con información completa para un rol
      */
@@ -65,15 +87,35 @@ public interface RolePermissionRepository extends R2dbcRepository<RolePermission
     Flux<RolePermission> findPermissionRolesWithDetails(UUID permissionId);
     
     /**
-     * Obtener todos los permisos de un usuario a través de sus roles
+     * Obtener todos los permisos de un usuario a través de sus roles (incluidos los heredados)
+     * role_id es el rol que otorga el permiso, que puede ser un ancestro del rol asignado
      */
     @Query("""
         SELECT DISTINCT rp.role_id, r.name as role_name, rp.permission_id, p.module, p.action, p.resource, p.description, rp.created_at
         FROM users_roles ur
-        JOIN roles_permissions rp ON ur.role_id = rp.role_id
-        JOIN roles r ON rp.role_id = r.id
+        JOIN roles ar ON ar.id = ur.role_id AND ar.active = true
+        JOIN role_closure rc ON rc.role_id = ur.role_id
+        JOIN roles_permissions rp ON rp.role_id = rc.inherited_role_id
+        JOIN roles r ON rp.role_id = r.id AND r.active = true
         JOIN permissions p ON rp.permission_id = p.id
         WHERE ur.user_id = :userId AND ur.active = true
         """)
     Flux<RolePermission> findUserPermissions(UUID userId);
-}
\ No newline at end of file
+    
+    /**
+     * Copiar los permisos de un rol a otro en una sola sentencia, filtrando por módulo
+     * Los arreglos vacíos no filtran; devuelve los permisos copiados
+     */
+    @Query("""
+        INSERT INTO roles_permissions (role_id, permission_id, created_at)
+        SELECT :targetRoleId, rp.permission_id, NOW()
+        FROM roles_permissions rp
+        INNER JOIN permissions p ON p.id = rp.permission_id
+        WHERE rp.role_id = :sourceRoleId
+        AND (cardinality(CAST(:includeModules AS varchar[])) = 0 OR p.module = ANY(CAST(:includeModules AS varchar[])))
+        AND (cardinality(CAST(:excludeModules AS varchar[])) = 0 OR p.module <> ALL(CAST(:excludeModules AS varchar[])))
+        ON CONFLICT (role_id, permission_id) DO NOTHING
+        RETURNING permission_id
+        """)
+    Flux<UUID> copyPermissions(UUID sourceRoleId, UUID targetRoleId, String[] includeModules, String[] excludeModules);
+}
@@ -40,6 +40,12 @@ public interface RoleRepository extends R2dbcRepository<Role, UUID> {
      */
     Flux<Role> findByIsSystemFalse();
     
+    /**
+     * Obtener cuáles de los IDs dados existen
+     */
+    @Query("SELECT id FROM roles WHERE id = ANY(:ids)")
+    Flux<UUID> findExistingIds(UUID[] ids);
+    
     /**
      * Verificar si existe un rol con el nombre dado
      */
@@ -56,4 +62,38 @@ public interface RoleRepository extends R2dbcRepository<Role, UUID> {
      */
     @Query("UPDATE roles SET active = :active WHERE id = :id")
     Mono<Integer> updateActiveStatus(UUID id, Boolean active);
-}
\ No newline at end of file
+    
+    /**
+     * Obtener los roles de los que el rol hereda directamente
+     */
+    @Query("""
+        SELECT r.* FROM roles r
+        INNER JOIN roles_hierarchy h ON h.parent_role_id = r.id
+        WHERE h.child_role_id = :roleId
+        ORDER BY r.name
+        """)
+    Flux<Role> findParentRoles(UUID roleId);
+    
+    /**
+     * Obtener todos los roles de los que el rol hereda, directa o transitivamente, del más cercano al más lejano
+     */
+    @Query("""
+        SELECT r.* FROM roles r
+        INNER JOIN role_closure rc ON rc.inherited_role_id = r.id
+        WHERE rc.role_id = :roleId AND rc.depth > 0
+        ORDER BY rc.depth, r.name
+        """)
+    Flux<Role> findInheritedRoles(UUID roleId);
+    
+    /**
+     * Crear un rol nuevo a partir de otro en una sola sentencia (la descripción nula se copia del origen)
+     */
+    @Query("""
+        INSERT INTO roles (name, description, is_system, active, created_at, created_by)
+        SELECT :name, COALESCE(:description, description), false, true, NOW(), :createdBy
+        FROM roles
+        WHERE id = :sourceRoleId
+        RETURNING *
+        """)
+    Mono<Role> insertCloneOf(UUID sourceRoleId, String name, String description, UUID createdBy);
+}
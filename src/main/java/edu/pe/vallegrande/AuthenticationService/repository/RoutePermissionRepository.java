@@ -0,0 +1,33 @@
+package edu.pe.vallegrande.AuthenticationService.repository;
+
+import edu.pe.vallegrande.AuthenticationService.model.RoutePermission;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Repositorio para las reglas de autorización por ruta
+ */
+@Repository
+public interface RoutePermissionRepository extends R2dbcRepository<RoutePermission, UUID> {
+    
+    /**
+     * Obtener las reglas activas
+     */
+    Flux<RoutePermission> findByActiveTrue();
+    
+    /**
+     * Huella de la tabla para detectar cambios sin recargar todas las reglas
+     * Se calcula sobre el contenido completo de cada fila (tabla pequeña), así detecta también
+     * ediciones directas que no actualizan updated_at y borrados que no cambian el máximo
+     */
+    @Query("""
+        SELECT COUNT(*) || ':' || COALESCE(md5(string_agg(rp::text, ',' ORDER BY rp.id)), '')
+        FROM route_permissions rp
+        """)
+    Mono<String> fingerprint();
+}
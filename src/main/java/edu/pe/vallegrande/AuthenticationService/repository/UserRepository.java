@@ -1,5 +1,6 @@
 package edu.pe.vallegrande.AuthenticationService.repository;
 
+import edu.pe.vallegrande.AuthenticationService.dto.UserVersionDto;
 import edu.pe.vallegrande.AuthenticationService.model.User;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -59,6 +60,12 @@ public interface UserRepository extends R2dbcRepository<User, UUID> {
      */
     Flux<User> findByDirectManagerId(UUID managerId);
     
+    /**
+     * Obtener cuáles de los IDs dados existen
+     */
+    @Query("SELECT id FROM users WHERE id = ANY(:ids)")
+    Flux<UUID> findExistingIds(UUID[] ids);
+    
     /**
      * Verificar si existe un usuario con el username dado
      */
@@ -73,30 +80,106 @@ public interface UserRepository extends R2dbcRepository<User, UUID> {
     /**
      * Actualizar el status de un usuario
      */
-    @Query("UPDATE users SET status = :status, updated_at = NOW(), updated_by = :updatedBy WHERE id = :id")
+    @Query("UPDATE users SET status = :status, updated_at = NOW(), updated_by = :updatedBy, version = COALESCE(version, 0) + 1 WHERE id = :id")
     Mono<Integer> updateStatus(UUID id, String status, UUID updatedBy);
     
     /**
      * Actualizar último login
      */
-    @Query("UPDATE users SET last_login = :lastLogin, login_attempts = 0 WHERE id = :id")
+    @Query("UPDATE users SET last_login = :lastLogin, login_attempts = 0, version = COALESCE(version, 0) + 1 WHERE id = :id")
     Mono<Integer> updateLastLogin(UUID id, LocalDateTime lastLogin);
     
     /**
      * Incrementar intentos de login
      */
-    @Query("UPDATE users SET login_attempts = login_attempts + 1 WHERE id = :id")
+    @Query("UPDATE users SET login_attempts = login_attempts + 1, version = COALESCE(version, 0) + 1 WHERE id = :id")
     Mono<Integer> incrementLoginAttempts(UUID id);
     
     /**
      * Bloquear usuario hasta una fecha específica
      */
-    @Query("UPDATE users SET blocked_until = :blockedUntil, status = 'SUSPENDED' WHERE id = :id")
+    @Query("UPDATE users SET blocked_until = :blockedUntil, status = 'SUSPENDED', version = COALESCE(version, 0) + 1 WHERE id = :id")
     Mono<Integer> blockUser(UUID id, LocalDateTime blockedUntil);
     
     /**
      * Desbloquear usuario
      */
-    @Query("UPDATE users SET blocked_until = NULL, status = 'ACTIVE', login_attempts = 0 WHERE id = :id")
+    @Query("UPDATE users SET blocked_until = NULL, status = 'ACTIVE', login_attempts = 0, version = COALESCE(version, 0) + 1 WHERE id = :id")
     Mono<Integer> unblockUser(UUID id);
-}
\ No newline at end of file
+    
+    /**
+     * Desbloquear un lote de usuarios suspendidos cuyo bloqueo ya venció
+     * Un usuario desactivado mientras estaba bloqueado conserva su estado
+     * SKIP LOCKED permite que varias instancias ejecuten el barrido sin esperarse entre sí
+     */
+    @Query("""
+        UPDATE users SET blocked_until = NULL, status = 'ACTIVE', login_attempts = 0, updated_at = NOW(),
+            version = COALESCE(version, 0) + 1
+        WHERE id IN (
+            SELECT id FROM users
+            WHERE blocked_until IS NOT NULL
+            AND blocked_until < NOW()
+            AND status = 'SUSPENDED'
+            ORDER BY blocked_until
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id
+        """)
+    Flux<UUID> unblockExpired(int batchSize);
+    
+    /**
+     * Obtener solo la versión de un usuario (validación de ETag sin leer la fila completa)
+     */
+    @Query("SELECT id, version FROM users WHERE id = :id")
+    Mono<UserVersionDto> findVersionById(UUID id);
+    
+    /**
+     * Obtener id y versión de un usuario por username (validación de ETag sin leer la fila completa)
+     */
+    @Query("SELECT id, version FROM users WHERE username = :username")
+    Mono<UserVersionDto> findVersionByUsername(String username);
+    
+    /**
+     * Leer un usuario bloqueando su fila hasta el fin de la transacción (actualización condicional)
+     */
+    @Query("SELECT * FROM users WHERE id = :id FOR UPDATE")
+    Mono<User> findByIdForUpdate(UUID id);
+    
+    /**
+     * Usernames de un lote que ya están registrados (verificación de unicidad en conjunto)
+     */
+    @Query("SELECT username FROM users WHERE username = ANY(CAST(:usernames AS varchar[]))")
+    Flux<String> findExistingUsernames(String[] usernames);
+    
+    /**
+     * Insertar un lote de usuarios en una sola sentencia (arreglos paralelos)
+     * Se omiten las filas cuyo username ya existe o cuya persona, área, posición, jefe directo o creador no existe;
+     * solo se devuelven los usuarios creados
+     */
+    @Query("""
+        INSERT INTO users (username, password_hash, person_id, area_id, position_id, direct_manager_id,
+                           status, login_attempts, preferences, created_by, created_at, updated_at, version)
+        SELECT entry.username, entry.password_hash, entry.person_id, entry.area_id, entry.position_id,
+               entry.direct_manager_id, entry.status, 0, CAST(entry.preferences AS jsonb), entry.created_by,
+               NOW(), NOW(), 1
+        FROM unnest(
+            CAST(:usernames AS varchar[]), CAST(:passwordHashes AS varchar[]),
+            CAST(:personIds AS uuid[]), CAST(:areaIds AS uuid[]), CAST(:positionIds AS uuid[]),
+            CAST(:directManagerIds AS uuid[]), CAST(:statuses AS varchar[]),
+            CAST(:preferences AS text[]), CAST(:createdBy AS uuid[])
+        ) AS entry(username, password_hash, person_id, area_id, position_id, direct_manager_id,
+                   status, preferences, created_by)
+        WHERE EXISTS (SELECT 1 FROM persons p WHERE p.id = entry.person_id)
+        AND EXISTS (SELECT 1 FROM areas a WHERE a.id = entry.area_id)
+        AND EXISTS (SELECT 1 FROM positions po WHERE po.id = entry.position_id)
+        AND (entry.direct_manager_id IS NULL
+             OR EXISTS (SELECT 1 FROM users m WHERE m.id = entry.direct_manager_id))
+        AND (entry.created_by IS NULL
+             OR EXISTS (SELECT 1 FROM users c WHERE c.id = entry.created_by))
+        ON CONFLICT (username) DO NOTHING
+        RETURNING *
+        """)
+    Flux<User> insertAll(String[] usernames, String[] passwordHashes, UUID[] personIds, UUID[] areaIds,
+            UUID[] positionIds, UUID[] directManagerIds, String[] statuses, String[] preferences, UUID[] createdBy);
+}
@@ -1,5 +1,6 @@
 package edu.pe.vallegrande.AuthenticationService.repository;
 
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionUserDto;
 import edu.pe.vallegrande.AuthenticationService.model.UserRole;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -7,6 +8,7 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 /**
@@ -50,6 +52,101 @@ public interface UserRoleRepository extends R2dbcRepository<UserRole, UUID> {
      */
     Mono<Void> deleteByUserIdAndRoleId(UUID userId, UUID roleId);
     
+    /**
+     * Obtener los usuarios que tienen alguno de los roles dados o un rol que herede de ellos
+     */
+    @Query("""
+        SELECT DISTINCT ur.user_id FROM users_roles ur
+        INNER JOIN role_closure rc ON rc.role_id = ur.role_id
+        WHERE rc.inherited_role_id = ANY(:roleIds)
+        """)
+    Flux<UUID> findUserIdsByRoleIds(UUID[] roleIds);
+    
+    /**
+     * Insertar pares usuario-rol en una sola sentencia, ignorando los que ya existen
+     * Devuelve solo las asignaciones creadas
+     */
+    @Query("""
+        INSERT INTO users_roles (user_id, role_id, assigned_by, assigned_at, expiration_date, active)
+        SELECT pair.user_id, pair.role_id, :assignedBy, NOW(), :expirationDate, :active
+        FROM unnest(CAST(:userIds AS uuid[]), CAST(:roleIds AS uuid[])) AS pair(user_id, role_id)
+        ON CONFLICT (user_id, role_id) DO NOTHING
+        RETURNING *
+        """)
+    Flux<UserRole> insertAllIgnoringExisting(UUID[] userIds, UUID[] roleIds, UUID assignedBy,
+                                             LocalDate expirationDate, Boolean active);
+    
+    /**
+     * Asignar un rol a todos los usuarios que cumplen el selector en una sola sentencia
+     * Los criterios nulos no filtran; managerId incluye el subárbol completo de subordinados
+     * Devuelve los usuarios a los que se les asignó el rol
+     */
+    @Query("""
+        WITH RECURSIVE subordinates AS (
+            SELECT id FROM users WHERE direct_manager_id = CAST(:managerId AS uuid)
+            UNION
+            SELECT u.id FROM users u JOIN subordinates s ON u.direct_manager_id = s.id
+        )
+        INSERT INTO users_roles (user_id, role_id, assigned_by, assigned_at, expiration_date, active)
+        SELECT u.id, :roleId, :assignedBy, NOW(), :expirationDate, :active
+        FROM users u
+        WHERE (CAST(:areaId AS uuid) IS NULL OR u.area_id = :areaId)
+        AND (CAST(:positionId AS uuid) IS NULL OR u.position_id = :positionId)
+        AND (CAST(:status AS varchar) IS NULL OR u.status = :status)
+        AND (CAST(:managerId AS uuid) IS NULL OR u.id IN (SELECT id FROM subordinates))
+        ON CONFLICT (user_id, role_id) DO NOTHING
+        RETURNING user_id
+        """)
+    Flux<UUID> assignRoleToMatchingUsers(UUID roleId, UUID areaId, UUID positionId, UUID managerId, String status,
+                                         UUID assignedBy, LocalDate expirationDate, Boolean active);
+    
+    /**
+     * Obtener todos los pares usuario-rol activos de roles activos (carga del índice de accesos)
+     */
+    @Query("""
+        SELECT ur.user_id, ur.role_id FROM users_roles ur
+        INNER JOIN roles r ON r.id = ur.role_id AND r.active = true
+        WHERE ur.active = true
+        """)
+    Flux<UserRole> findActivePairs();
+    
+    /**
+     * Usuarios que reciben un permiso a través de sus roles o de los roles heredados, paginados por id (keyset)
+     */
+    @Query("""
+        SELECT DISTINCT u.id AS user_id, u.username, u.status
+        FROM roles_permissions rp
+        INNER JOIN roles gr ON gr.id = rp.role_id AND gr.active = true
+        INNER JOIN role_closure rc ON rc.inherited_role_id = rp.role_id
+        INNER JOIN users_roles ur ON ur.role_id = rc.role_id AND ur.active = true
+        INNER JOIN roles r ON r.id = ur.role_id AND r.active = true
+        INNER JOIN users u ON u.id = ur.user_id
+        WHERE rp.permission_id = :permissionId
+        AND (CAST(:afterUserId AS uuid) IS NULL OR u.id > :afterUserId)
+        ORDER BY u.id
+        LIMIT :limit
+        """)
+    Flux<PermissionUserDto> findUsersWithPermission(UUID permissionId, UUID afterUserId, int limit);
+    
+    /**
+     * Desactivar un lote de asignaciones vencidas posteriores al cursor (user_id, role_id)
+     * Devuelve los pares desactivados para avanzar el cursor y notificar a las cachés
+     */
+    @Query("""
+        UPDATE users_roles ur SET active = false
+        FROM (
+            SELECT user_id, role_id FROM users_roles
+            WHERE active = true
+            AND expiration_date <= CURRENT_DATE
+            AND (user_id, role_id) > (:afterUserId, :afterRoleId)
+            ORDER BY user_id, role_id
+            LIMIT :batchSize
+        ) expired
+        WHERE ur.user_id = expired.user_id AND ur.role_id = expired.role_id
+        RETURNING ur.user_id, ur.role_id
+        """)
+    Flux<UserRole> deactivateExpired(UUID afterUserId, UUID afterRoleId, int batchSize);
+    
     /**
      * Obtener roles con información completa para un usuario
      */
@@ -0,0 +1,128 @@
+package edu.pe.vallegrande.AuthenticationService.scheduler;
+
+import edu.pe.vallegrande.AuthenticationService.event.OutboxSink;
+import edu.pe.vallegrande.AuthenticationService.model.OutboxEvent;
+import edu.pe.vallegrande.AuthenticationService.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relay del outbox de autorización
+ * 
+ * Cada lote se bloquea con FOR UPDATE SKIP LOCKED, se entrega al OutboxSink y se marca como
+ * publicado en la misma transacción, de modo que varias instancias pueden drenar en paralelo.
+ * Sin un OutboxSink configurado el relay no hace nada: los registros quedan pendientes hasta
+ * que exista un destino real, en lugar de marcarse como publicados sin haberse entregado.
+ * El número de pendientes se expone como métrica y los que superan su retención se descartan
+ * en la limpieza, para que la tabla no crezca sin límite.
+ */
+@Slf4j
+@Component
+public class OutboxRelayScheduler {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink; // null: sin destino configurado
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+    private final int retentionHours;
+    private final int pendingRetentionHours;
+    private final AtomicLong pending = new AtomicLong();
+
+    public OutboxRelayScheduler(OutboxEventRepository outboxEventRepository,
+            ObjectProvider<OutboxSink> outboxSink,
+            TransactionalOperator transactionalOperator,
+            MeterRegistry meterRegistry,
+            @Value("${authorization.outbox.batch-size:500}") int batchSize,
+            @Value("${authorization.outbox.retention-hours:72}") int retentionHours,
+            @Value("${authorization.outbox.pending-retention-hours:168}") int pendingRetentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink.getIfAvailable();
+        if (this.outboxSink == null) {
+            log.warn("Outbox: no hay OutboxSink configurado; los registros quedan pendientes sin publicar");
+        }
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+        this.retentionHours = retentionHours;
+        this.pendingRetentionHours = pendingRetentionHours;
+        Gauge.builder("authorization.outbox.pending", pending, AtomicLong::get)
+                .description("Registros del outbox de autorización pendientes de publicar")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${authorization.outbox.relay-interval-ms:1000}",
+            initialDelayString = "${authorization.outbox.relay-interval-ms:1000}")
+    public Mono<Void> relayPendingEvents() {
+        if (outboxSink == null) {
+            return Mono.empty();
+        }
+        return relayBatch()
+                .expand(relayed -> relayed < batchSize ? Mono.empty() : relayBatch())
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.debug("Outbox: {} registros publicados", total);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Error al publicar el outbox de autorización: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${authorization.outbox.pending-check-ms:60000}")
+    public Mono<Void> refreshPendingCount() {
+        return outboxEventRepository.countPending()
+                .doOnNext(pending::set)
+                .onErrorResume(error -> {
+                    log.warn("Error al contar el outbox de autorización pendiente: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Scheduled(cron = "${authorization.outbox.cleanup-cron:0 0 3 * * *}")
+    public Mono<Void> deletePublishedEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxEventRepository.deletePublishedBefore(now.minusHours(retentionHours))
+                .doOnNext(deleted -> log.info("Outbox: {} registros publicados eliminados", deleted))
+                .then(outboxEventRepository.deletePendingBefore(now.minusHours(pendingRetentionHours)))
+                .doOnNext(deleted -> {
+                    if (deleted > 0) {
+                        log.warn("Outbox: {} registros descartados sin publicar tras {} horas",
+                                deleted, pendingRetentionHours);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Error al limpiar el outbox de autorización: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Integer> relayBatch() {
+        return outboxEventRepository.lockPendingBatch(batchSize)
+                .collectList()
+                .flatMap(batch -> batch.isEmpty()
+                        ? Mono.just(0)
+                        : outboxSink.publish(batch)
+                                .then(outboxEventRepository.markPublished(ids(batch)))
+                                .thenReturn(batch.size()))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Long[] ids(List<OutboxEvent> batch) {
+        return batch.stream().map(OutboxEvent::getId).toArray(Long[]::new);
+    }
+}
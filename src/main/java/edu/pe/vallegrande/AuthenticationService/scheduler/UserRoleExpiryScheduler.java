@@ -0,0 +1,111 @@
+package edu.pe.vallegrande.AuthenticationService.scheduler;
+
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
+import edu.pe.vallegrande.AuthenticationService.model.UserRole;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRoleRepository;
+import edu.pe.vallegrande.AuthenticationService.security.AuthorizationDecisionCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Tarea programada que desactiva las asignaciones usuario-rol vencidas
+ * 
+ * Recorre users_roles por lotes paginados por (user_id, role_id) y notifica los usuarios
+ * afectados a la caché de decisiones. Gracias a esto las lecturas (login, permisos efectivos)
+ * solo filtran por active = true.
+ */
+@Slf4j
+@Component
+public class UserRoleExpiryScheduler {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    // Mismo orden que PostgreSQL para uuid (comparación de bytes sin signo)
+    private static final Comparator<UUID> POSTGRES_UUID_ORDER = (left, right) -> {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0 ? result
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    };
+    private static final Comparator<UserRole> KEY_ORDER = Comparator
+            .comparing(UserRole::getUserId, POSTGRES_UUID_ORDER)
+            .thenComparing(UserRole::getRoleId, POSTGRES_UUID_ORDER);
+
+    private final UserRoleRepository userRoleRepository;
+    private final AuthorizationDecisionCache decisionCache;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+
+    public UserRoleExpiryScheduler(UserRoleRepository userRoleRepository,
+            AuthorizationDecisionCache decisionCache,
+            AuthorizationEventPublisher eventPublisher,
+            AuthorizationOutboxWriter outboxWriter,
+            TransactionalOperator transactionalOperator,
+            @Value("${authorization.role-expiry.batch-size:500}") int batchSize) {
+        this.userRoleRepository = userRoleRepository;
+        this.decisionCache = decisionCache;
+        this.eventPublisher = eventPublisher;
+        this.outboxWriter = outboxWriter;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${authorization.role-expiry.interval-ms:300000}",
+            initialDelayString = "${authorization.role-expiry.interval-ms:300000}")
+    public Mono<Void> deactivateExpiredAssignments() {
+        return deactivateBatch(MIN_UUID, MIN_UUID)
+                .expand(batch -> batch.size() < batchSize
+                        ? Mono.empty()
+                        : deactivateBatch(batch.get(batch.size() - 1).getUserId(),
+                                batch.get(batch.size() - 1).getRoleId()))
+                .doOnNext(batch -> {
+                    Set<UUID> userIds = batch.stream().map(UserRole::getUserId).collect(Collectors.toSet());
+                    decisionCache.invalidateUsers(userIds);
+                    eventPublisher.publishAll(expiredEvents(batch));
+                })
+                .reduce(0, (total, batch) -> total + batch.size())
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Asignaciones usuario-rol vencidas desactivadas: {}", total);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Error al desactivar asignaciones vencidas: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Desactivar un lote y devolverlo ordenado por la clave para obtener el siguiente cursor
+     * El lote y su registro en el outbox se confirman en la misma transacción
+     */
+    private Mono<List<UserRole>> deactivateBatch(UUID afterUserId, UUID afterRoleId) {
+        return userRoleRepository.deactivateExpired(afterUserId, afterRoleId, batchSize)
+                .collectSortedList(KEY_ORDER)
+                .flatMap(batch -> outboxWriter.recordAll(expiredEvents(batch)).thenReturn(batch))
+                .as(transactionalOperator::transactional);
+    }
+
+    private List<AuthorizationEventDto> expiredEvents(List<UserRole> batch) {
+        return batch.stream()
+                .map(userRole -> AuthorizationEvents.userRole(
+                        AuthorizationEventType.ROLE_EXPIRED, userRole.getUserId(), userRole.getRoleId()))
+                .toList();
+    }
+}
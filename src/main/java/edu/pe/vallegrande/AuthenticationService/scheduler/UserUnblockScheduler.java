@@ -0,0 +1,75 @@
+package edu.pe.vallegrande.AuthenticationService.scheduler;
+
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Tarea programada que libera a los usuarios cuyo bloqueo temporal (blocked_until) ya venció
+ * 
+ * Cada lote es un único UPDATE ... RETURNING apoyado en el índice parcial sobre blocked_until,
+ * por lo que nunca recorre la tabla users completa.
+ */
+@Slf4j
+@Component
+public class UserUnblockScheduler {
+
+    private final UserRepository userRepository;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+
+    public UserUnblockScheduler(UserRepository userRepository,
+            AuthorizationEventPublisher eventPublisher,
+            AuthorizationOutboxWriter outboxWriter,
+            TransactionalOperator transactionalOperator,
+            @Value("${authorization.user-unblock.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.outboxWriter = outboxWriter;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${authorization.user-unblock.interval-ms:60000}",
+            initialDelayString = "${authorization.user-unblock.interval-ms:60000}")
+    public Mono<Void> unblockExpiredUsers() {
+        return unblockBatch()
+                .expand(batch -> batch.size() < batchSize ? Mono.empty() : unblockBatch())
+                .doOnNext(eventPublisher::publishAll)
+                .reduce(0, (total, batch) -> total + batch.size())
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Usuarios desbloqueados por vencimiento del bloqueo: {}", total);
+                    }
+                })
+                .onErrorResume(error -> {
+                    log.warn("Error al desbloquear usuarios con bloqueo vencido: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Desbloquear un lote y registrarlo en el outbox en la misma transacción
+     */
+    private Mono<List<AuthorizationEventDto>> unblockBatch() {
+        return userRepository.unblockExpired(batchSize)
+                .map(userId -> AuthorizationEvents.user(AuthorizationEventType.USER_UNBLOCKED, userId, "ACTIVE"))
+                .collectList()
+                .flatMap(events -> outboxWriter.recordAll(events).thenReturn(events))
+                .as(transactionalOperator::transactional);
+    }
+}
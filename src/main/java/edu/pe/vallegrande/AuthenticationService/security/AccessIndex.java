@@ -0,0 +1,128 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.repository.RoleHierarchyRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.RolePermissionRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRoleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Índice en memoria de accesos (permiso -> roles -> usuarios), con la herencia de roles ya resuelta
+ * 
+ * Mantiene un AccessSnapshot que se reconstruye por completo y se reemplaza de forma atómica.
+ * Los eventos de autorización de esta instancia disparan una reconstrucción (agrupados por
+ * ventana de tiempo) y una recarga periódica cubre los cambios hechos por otras instancias.
+ */
+@Slf4j
+@Component
+public class AccessIndex {
+
+    // Eventos que modifican las relaciones usuario-rol, rol-permiso o la herencia entre roles
+    private static final Set<AuthorizationEventType> INDEX_EVENTS = EnumSet.of(
+            AuthorizationEventType.ROLE_ASSIGNED, AuthorizationEventType.ROLE_REMOVED,
+            AuthorizationEventType.ROLE_EXPIRED, AuthorizationEventType.PERMISSION_GRANTED,
+            AuthorizationEventType.PERMISSION_REVOKED, AuthorizationEventType.PERMISSION_DELETED,
+            AuthorizationEventType.ROLE_DEACTIVATED, AuthorizationEventType.ROLE_RESTORED,
+            AuthorizationEventType.ROLE_INHERITANCE_ADDED, AuthorizationEventType.ROLE_INHERITANCE_REMOVED);
+
+    private final UserRoleRepository userRoleRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final RoleHierarchyRepository roleHierarchyRepository;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final Duration rebuildWindow;
+
+    private final AtomicReference<AccessSnapshot> snapshot = new AtomicReference<>(AccessSnapshot.empty());
+    private volatile boolean ready;
+    private Disposable eventSubscription;
+
+    public AccessIndex(UserRoleRepository userRoleRepository,
+            RolePermissionRepository rolePermissionRepository,
+            RoleHierarchyRepository roleHierarchyRepository,
+            AuthorizationEventPublisher eventPublisher,
+            @Value("${authorization.access-index.rebuild-window-ms:1000}") long rebuildWindowMs) {
+        this.userRoleRepository = userRoleRepository;
+        this.rolePermissionRepository = rolePermissionRepository;
+        this.roleHierarchyRepository = roleHierarchyRepository;
+        this.eventPublisher = eventPublisher;
+        this.rebuildWindow = Duration.ofMillis(rebuildWindowMs);
+    }
+
+    /**
+     * Foto actual del índice; vacía hasta la primera carga (ver isReady)
+     */
+    public AccessSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Foto actual, cargándola primero si el índice aún no está disponible
+     */
+    public Mono<AccessSnapshot> currentSnapshot() {
+        if (ready) {
+            return Mono.just(snapshot.get());
+        }
+        return rebuild().then(Mono.defer(() -> ready
+                ? Mono.just(snapshot.get())
+                : Mono.error(new IllegalStateException("El índice de accesos aún no está disponible"))));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        eventSubscription = eventPublisher.stream(null)
+                .filter(event -> INDEX_EVENTS.contains(event.getType()))
+                .sample(rebuildWindow)
+                .concatMap(event -> rebuild())
+                .subscribe();
+        rebuild().subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (eventSubscription != null) {
+            eventSubscription.dispose();
+        }
+    }
+
+    /**
+     * Reconstruir el índice desde la base de datos
+     */
+    @Scheduled(fixedDelayString = "${authorization.access-index.refresh-ms:300000}",
+            initialDelayString = "${authorization.access-index.refresh-ms:300000}")
+    public Mono<Void> rebuild() {
+        long start = System.nanoTime();
+        return Mono.zip(
+                        userRoleRepository.findActivePairs().collectList(),
+                        rolePermissionRepository.findAllPairs().collectList(),
+                        roleHierarchyRepository.findInheritedPairs().collectList())
+                .map(pairs -> AccessSnapshot.build(pairs.getT1(), pairs.getT2(), pairs.getT3()))
+                .doOnNext(built -> {
+                    snapshot.set(built);
+                    ready = true;
+                    log.info("Índice de accesos reconstruido: {} usuarios en {} ms",
+                            built.userCount(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+                })
+                .onErrorResume(error -> {
+                    log.warn("No se pudo reconstruir el índice de accesos: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,303 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.model.RoleClosure;
+import edu.pe.vallegrande.AuthenticationService.model.RolePermission;
+import edu.pe.vallegrande.AuthenticationService.model.UserRole;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Foto inmutable de quién tiene acceso a qué, en bitmaps comprimidos (RoaringBitmap)
+ * 
+ * Usuarios, roles y permisos se numeran de forma densa y cada relación (rol -> usuarios,
+ * usuario -> roles, permiso -> roles, rol -> permisos) se guarda como bitmaps, de modo que
+ * "qué usuarios tienen el permiso X" o "quién lo perdería" son uniones y diferencias de
+ * bitmaps en memoria. Nunca se modifica tras construirse.
+ * 
+ * La herencia entre roles se resuelve al construir: rolePermissions y permissionRoles son
+ * efectivos (permisos propios más los heredados) y directPermissions guarda solo los propios.
+ */
+public final class AccessSnapshot {
+
+    private static final AccessSnapshot EMPTY = build(List.of(), List.of(), List.of());
+
+    private final IdDictionary users;
+    private final IdDictionary roles;
+    private final IdDictionary permissions;
+    private final RoaringBitmap[] roleUsers;
+    private final RoaringBitmap[] userRoles;
+    private final RoaringBitmap[] permissionRoles;
+    private final RoaringBitmap[] rolePermissions;
+    private final RoaringBitmap[] directPermissions;
+    private final RoaringBitmap[] inheritedRoles;
+    private final RoaringBitmap[] inheritingRoles;
+
+    private AccessSnapshot(IdDictionary users, IdDictionary roles, IdDictionary permissions,
+            RoaringBitmap[] roleUsers, RoaringBitmap[] userRoles,
+            RoaringBitmap[] permissionRoles, RoaringBitmap[] rolePermissions,
+            RoaringBitmap[] directPermissions, RoaringBitmap[] inheritedRoles, RoaringBitmap[] inheritingRoles) {
+        this.users = users;
+        this.roles = roles;
+        this.permissions = permissions;
+        this.roleUsers = roleUsers;
+        this.userRoles = userRoles;
+        this.permissionRoles = permissionRoles;
+        this.rolePermissions = rolePermissions;
+        this.directPermissions = directPermissions;
+        this.inheritedRoles = inheritedRoles;
+        this.inheritingRoles = inheritingRoles;
+    }
+
+    public static AccessSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Construir la foto; closure son las filas heredadas (depth > 0) de role_closure
+     */
+    public static AccessSnapshot build(List<UserRole> userRoles, List<RolePermission> rolePermissions,
+            List<RoleClosure> closure) {
+        IdDictionary users = new IdDictionary();
+        IdDictionary roles = new IdDictionary();
+        IdDictionary permissions = new IdDictionary();
+        Map<Integer, RoaringBitmap> roleUsers = new HashMap<>();
+        Map<Integer, RoaringBitmap> userRoleSets = new HashMap<>();
+        Map<Integer, RoaringBitmap> directPermissionSets = new HashMap<>();
+        Map<Integer, RoaringBitmap> inheritedRoleSets = new HashMap<>();
+        Map<Integer, RoaringBitmap> inheritingRoleSets = new HashMap<>();
+
+        for (UserRole userRole : userRoles) {
+            int user = users.add(userRole.getUserId());
+            int role = roles.add(userRole.getRoleId());
+            roleUsers.computeIfAbsent(role, key -> new RoaringBitmap()).add(user);
+            userRoleSets.computeIfAbsent(user, key -> new RoaringBitmap()).add(role);
+        }
+        for (RolePermission rolePermission : rolePermissions) {
+            int role = roles.add(rolePermission.getRoleId());
+            int permission = permissions.add(rolePermission.getPermissionId());
+            directPermissionSets.computeIfAbsent(role, key -> new RoaringBitmap()).add(permission);
+        }
+        for (RoleClosure path : closure) {
+            int role = roles.add(path.getRoleId());
+            int inherited = roles.add(path.getInheritedRoleId());
+            inheritedRoleSets.computeIfAbsent(role, key -> new RoaringBitmap()).add(inherited);
+            inheritingRoleSets.computeIfAbsent(inherited, key -> new RoaringBitmap()).add(role);
+        }
+
+        // Cada rol se hereda a sí mismo; los permisos efectivos son la unión de los propios y los heredados
+        RoaringBitmap[] directPermissions = toArray(directPermissionSets, roles.size());
+        RoaringBitmap[] inheritedRoles = toArray(inheritedRoleSets, roles.size());
+        RoaringBitmap[] inheritingRoles = toArray(inheritingRoleSets, roles.size());
+        Map<Integer, RoaringBitmap> rolePermissionSets = new HashMap<>();
+        Map<Integer, RoaringBitmap> permissionRoles = new HashMap<>();
+        for (int role = 0; role < roles.size(); role++) {
+            inheritedRoles[role].add(role);
+            inheritingRoles[role].add(role);
+            RoaringBitmap effective = unionOf(inheritedRoles[role], directPermissions, -1);
+            rolePermissionSets.put(role, effective);
+            int grantee = role;
+            effective.forEach((int permission) ->
+                    permissionRoles.computeIfAbsent(permission, key -> new RoaringBitmap()).add(grantee));
+        }
+
+        return new AccessSnapshot(users, roles, permissions,
+                toArray(roleUsers, roles.size()), toArray(userRoleSets, users.size()),
+                toArray(permissionRoles, permissions.size()), toArray(rolePermissionSets, roles.size()),
+                directPermissions, inheritedRoles, inheritingRoles);
+    }
+
+    /**
+     * Usuarios (índices densos) que reciben el permiso a través de alguno de sus roles
+     */
+    public RoaringBitmap usersWithPermission(UUID permissionId) {
+        int permission = permissions.find(permissionId);
+        return permission < 0 ? new RoaringBitmap() : usersGranted(permission);
+    }
+
+    public long countUsersWithPermission(UUID permissionId) {
+        return usersWithPermission(permissionId).getLongCardinality();
+    }
+
+    /**
+     * Usuarios que perderían el permiso si se quitara del rol, contando los roles que lo heredan
+     * (no lo reciben por otro rol ni por otro ancestro)
+     */
+    public RoaringBitmap usersLosingPermission(UUID roleId, UUID permissionId) {
+        int role = roles.find(roleId);
+        int permission = permissions.find(permissionId);
+        if (role < 0 || permission < 0 || !directPermissions[role].contains(permission)) {
+            return new RoaringBitmap();
+        }
+        RoaringBitmap rolesLosing = new RoaringBitmap();
+        inheritingRoles[role].forEach((int heir) -> {
+            if (!unionOf(inheritedRoles[heir], directPermissions, role).contains(permission)) {
+                rolesLosing.add(heir);
+            }
+        });
+        return usersLosing(permission, rolesLosing);
+    }
+
+    /**
+     * Permisos (índices densos) que el usuario perdería si se le quitara el rol
+     */
+    public RoaringBitmap permissionsLostByUser(UUID userId, UUID roleId) {
+        int user = users.find(userId);
+        int role = roles.find(roleId);
+        if (user < 0 || role < 0 || !userRoles[user].contains(role)) {
+            return new RoaringBitmap();
+        }
+        List<RoaringBitmap> kept = new ArrayList<>();
+        userRoles[user].forEach((int other) -> {
+            if (other != role) {
+                kept.add(rolePermissions[other]);
+            }
+        });
+        return RoaringBitmap.andNot(rolePermissions[role], FastAggregation.or(kept.iterator()));
+    }
+
+    /**
+     * Por cada permiso del rol, usuarios que lo perderían si el rol se desactivara
+     * Sus usuarios pierden los permisos efectivos del rol y los roles herederos, sus permisos propios
+     */
+    public Map<Integer, RoaringBitmap> usersLosingPermissionsOfRole(UUID roleId) {
+        int role = roles.find(roleId);
+        Map<Integer, RoaringBitmap> result = new HashMap<>();
+        if (role < 0) {
+            return result;
+        }
+        Map<Integer, RoaringBitmap> remaining = new HashMap<>();
+        inheritingRoles[role].forEach((int heir) -> remaining.put(heir,
+                heir == role ? new RoaringBitmap() : unionOf(inheritedRoles[heir], directPermissions, role)));
+        rolePermissions[role].forEach((int permission) -> {
+            RoaringBitmap rolesLosing = new RoaringBitmap();
+            remaining.forEach((heir, permissionsLeft) -> {
+                if (rolePermissions[heir].contains(permission) && !permissionsLeft.contains(permission)) {
+                    rolesLosing.add(heir);
+                }
+            });
+            RoaringBitmap losing = usersLosing(permission, rolesLosing);
+            if (!losing.isEmpty()) {
+                result.put(permission, losing);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Permisos efectivos (índices densos) del usuario: unión de los permisos de sus roles
+     */
+    public RoaringBitmap effectivePermissions(UUID userId) {
+        int user = users.find(userId);
+        if (user < 0) {
+            return new RoaringBitmap();
+        }
+        List<RoaringBitmap> granted = new ArrayList<>();
+        userRoles[user].forEach((int role) -> granted.add(rolePermissions[role]));
+        return FastAggregation.or(granted.iterator());
+    }
+
+    /**
+     * Permisos (índices densos) que otorgaría un conjunto de roles; los roles desconocidos se ignoran
+     */
+    public RoaringBitmap permissionsOfRoles(Collection<UUID> roleIds) {
+        List<RoaringBitmap> granted = new ArrayList<>();
+        for (UUID roleId : roleIds) {
+            int role = roles.find(roleId);
+            if (role >= 0) {
+                granted.add(rolePermissions[role]);
+            }
+        }
+        return FastAggregation.or(granted.iterator());
+    }
+
+    public UUID userId(int user) {
+        return users.get(user);
+    }
+
+    public UUID permissionId(int permission) {
+        return permissions.get(permission);
+    }
+
+    public int userCount() {
+        return users.size();
+    }
+
+    /**
+     * Usuarios que reciben el permiso por alguno de sus roles
+     */
+    private RoaringBitmap usersGranted(int permission) {
+        List<RoaringBitmap> grants = new ArrayList<>();
+        permissionRoles[permission].forEach((int role) -> grants.add(roleUsers[role]));
+        return FastAggregation.or(grants.iterator());
+    }
+
+    /**
+     * Usuarios de rolesLosing que se quedan sin el permiso (ningún otro de sus roles lo otorga)
+     */
+    private RoaringBitmap usersLosing(int permission, RoaringBitmap rolesLosing) {
+        List<RoaringBitmap> losing = new ArrayList<>();
+        List<RoaringBitmap> kept = new ArrayList<>();
+        permissionRoles[permission].forEach((int role) ->
+                (rolesLosing.contains(role) ? losing : kept).add(roleUsers[role]));
+        return RoaringBitmap.andNot(FastAggregation.or(losing.iterator()), FastAggregation.or(kept.iterator()));
+    }
+
+    /**
+     * Unión de los bitmaps de los índices dados, omitiendo excluded (-1 para ninguno)
+     */
+    private static RoaringBitmap unionOf(RoaringBitmap indexes, RoaringBitmap[] bitmaps, int excluded) {
+        List<RoaringBitmap> selected = new ArrayList<>();
+        indexes.forEach((int index) -> {
+            if (index != excluded) {
+                selected.add(bitmaps[index]);
+            }
+        });
+        return FastAggregation.or(selected.iterator());
+    }
+
+    private static RoaringBitmap[] toArray(Map<Integer, RoaringBitmap> bitmaps, int size) {
+        RoaringBitmap[] result = new RoaringBitmap[size];
+        for (int i = 0; i < size; i++) {
+            RoaringBitmap bitmap = bitmaps.getOrDefault(i, new RoaringBitmap());
+            bitmap.runOptimize();
+            result[i] = bitmap;
+        }
+        return result;
+    }
+
+    /**
+     * Numeración densa de UUIDs en orden de aparición
+     */
+    static final class IdDictionary {
+
+        private final Map<UUID, Integer> index = new HashMap<>();
+        private final List<UUID> ids = new ArrayList<>();
+
+        int add(UUID id) {
+            return index.computeIfAbsent(id, key -> {
+                ids.add(key);
+                return ids.size() - 1;
+            });
+        }
+
+        int find(UUID id) {
+            Integer position = index.get(id);
+            return position != null ? position : -1;
+        }
+
+        UUID get(int position) {
+            return ids.get(position);
+        }
+
+        int size() {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Caché acotada de decisiones de autorización (usuario, module, action, resource)
+ *
+ * Guarda tanto las respuestas positivas como las negativas, y el trie de permisos compilado de
+ * cada usuario para resolver sin consultar la base las decisiones que aún no están en caché.
+ * Las decisiones se agrupan en una entrada por usuario, así invalidar un usuario o un conjunto
+ * de usuarios (cambios en sus roles o en los permisos de un rol) solo toca esas entradas.
+ */
+@Slf4j
+@Component
+public class AuthorizationDecisionCache {
+
+    private static final String CACHE_NAME = "authorization.decisions";
+
+    // El peso de cada usuario es el número de decisiones que guarda; el máximo acota el total
+    private final Cache<UUID, UserDecisions> users;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AuthorizationDecisionCache(MeterRegistry meterRegistry,
+            @Value("${authorization.decision-cache.max-size:100000}") long maxSize,
+            @Value("${authorization.decision-cache.ttl-seconds:600}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.users = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((UUID userId, UserDecisions entry) -> 1 + entry.decisions.size())
+                // Agregar decisiones a la entrada no extiende su vida: expira contando desde su creación
+                .expireAfter(Expiry.creating((UUID userId, UserDecisions entry) -> ttl))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
+        Gauge.builder(CACHE_NAME + ".hit.ratio", this, AuthorizationDecisionCache::hitRatio)
+                .description("Proporción de decisiones de autorización resueltas desde la caché")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtener la decisión desde la caché o calcularla con el loader y guardarla
+     */
+    public Mono<Boolean> get(UUID userId, String module, String action, String resource,
+            Supplier<Mono<Boolean>> loader) {
+        DecisionKey key = new DecisionKey(module, action, resource);
+        UserDecisions entry = users.get(userId, id -> new UserDecisions());
+        Boolean cached = entry.decisions.get(key);
+        if (cached != null) {
+            hits.increment();
+            return Mono.just(cached);
+        }
+
+        misses.increment();
+        return loader.get()
+                .doOnNext(decision -> store(userId, entry, current -> current.decisions.put(key, decision)));
+    }
+
+    /**
+     * Obtener el trie de permisos compilado del usuario desde la caché o compilarlo con el loader
+     */
+    public Mono<PermissionTrie> permissions(UUID userId, Supplier<Mono<PermissionTrie>> loader) {
+        UserDecisions entry = users.get(userId, id -> new UserDecisions());
+        PermissionTrie cached = entry.permissions;
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return loader.get()
+                .doOnNext(trie -> store(userId, entry, current -> current.permissions = trie));
+    }
+
+    /**
+     * Invalidar las decisiones de un usuario
+     */
+    public void invalidateUser(UUID userId) {
+        invalidateUsers(Set.of(userId));
+    }
+
+    /**
+     * Invalidar las decisiones de varios usuarios; solo se tocan sus entradas
+     */
+    public void invalidateUsers(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        users.invalidateAll(userIds);
+        log.debug("Decisiones de autorización invalidadas para {} usuarios", userIds.size());
+    }
+
+    /**
+     * Invalidar todas las decisiones (cambios en el catálogo de permisos)
+     */
+    public void invalidateAll() {
+        users.invalidateAll();
+        log.debug("Caché de decisiones de autorización vaciada");
+    }
+
+    /**
+     * Guardar un resultado solo si la entrada del usuario sigue siendo la misma con la que empezó el cálculo
+     * Una invalidación reemplaza la entrada, así un resultado calculado antes de ella se descarta
+     * Se escribe dentro de compute para que el peso de la entrada se recalcule
+     */
+    private void store(UUID userId, UserDecisions entry, Consumer<UserDecisions> write) {
+        users.asMap().computeIfPresent(userId, (id, current) -> {
+            if (current == entry) {
+                write.accept(current);
+            }
+            return current;
+        });
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    private static final class UserDecisions {
+        private final Map<DecisionKey, Boolean> decisions = new ConcurrentHashMap<>();
+        private volatile PermissionTrie permissions;
+    }
+
+    private record DecisionKey(String module, String action, String resource) {
+    }
+}
@@ -70,6 +70,8 @@ public class JwtAuthenticationFilter implements WebFilter {
                 // Crear authentication token
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(username,
                         null, authorities);
+                // El ID de usuario se usa para evaluar las reglas de autorización por ruta
+                authentication.setDetails(jwtService.extractUserId(token));
 
                 // Establecer el contexto de seguridad
                 return chain.filter(exchange)
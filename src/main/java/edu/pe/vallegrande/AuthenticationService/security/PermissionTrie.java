@@ -0,0 +1,98 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.model.Permission;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie de permisos compilado a partir de los permisos efectivos de un usuario
+ * 
+ * Cada permiso se segmenta como module / action / resource, y el recurso se divide por "/".
+ * Un "*" final concede todo lo que cuelga de ese nodo, por ejemplo "reports:read:area/*" o
+ * "reports:*"; un "*" intermedio equivale a exactamente un segmento cualquiera, por ejemplo
+ * "*:read" o "reports:*:area". La verificación solo recorre las ramas que coinciden
+ * con la consulta, sin importar cuántos permisos tenga el usuario.
+ */
+public final class PermissionTrie {
+
+    private static final String WILDCARD = "*";
+    private static final String RESOURCE_SEPARATOR = "/";
+
+    private final Node root = new Node();
+
+    private PermissionTrie() {
+    }
+
+    /**
+     * Compila los permisos otorgados en un trie de solo lectura
+     */
+    public static PermissionTrie compile(Iterable<Permission> permissions) {
+        PermissionTrie trie = new PermissionTrie();
+        for (Permission permission : permissions) {
+            trie.insert(permission.getModule(), permission.getAction(), permission.getResource());
+        }
+        return trie;
+    }
+
+    /**
+     * Verifica si el trie concede module:action:resource
+     * Sin recurso basta con tener cualquier permiso sobre module:action, igual que la consulta original
+     */
+    public boolean matches(String module, String action, String resource) {
+        return matches(root, segments(module, action, resource), 0, resource == null);
+    }
+
+    private static boolean matches(Node node, String[] segments, int index, boolean anyResource) {
+        if (node.wildcard) {
+            return true;
+        }
+        if (index == segments.length) {
+            return anyResource || node.granted;
+        }
+        Node child = node.children.get(segments[index]);
+        if (child != null && matches(child, segments, index + 1, anyResource)) {
+            return true;
+        }
+        return node.anySegment != null && matches(node.anySegment, segments, index + 1, anyResource);
+    }
+
+    private void insert(String module, String action, String resource) {
+        Node node = root;
+        String[] segments = segments(module, action, resource);
+        for (int i = 0; i < segments.length; i++) {
+            if (WILDCARD.equals(segments[i])) {
+                if (i == segments.length - 1) {
+                    node.wildcard = true;
+                    return;
+                }
+                if (node.anySegment == null) {
+                    node.anySegment = new Node();
+                }
+                node = node.anySegment;
+            } else {
+                node = node.children.computeIfAbsent(segments[i], key -> new Node());
+            }
+        }
+        node.granted = true;
+    }
+
+    private static String[] segments(String module, String action, String resource) {
+        if (resource == null) {
+            return new String[] { module, action };
+        }
+        String[] resourceSegments = resource.split(RESOURCE_SEPARATOR, -1);
+        String[] segments = new String[resourceSegments.length + 2];
+        segments[0] = module;
+        segments[1] = action;
+        System.arraycopy(resourceSegments, 0, segments, 2, resourceSegments.length);
+        return segments;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Node anySegment; // "*" intermedio: un segmento cualquiera
+        private boolean granted;
+        private boolean wildcard; // "*" final: todo lo que cuelga del nodo
+    }
+}
@@ -0,0 +1,35 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.rsocket.EnableRSocketSecurity;
+import org.springframework.security.config.annotation.rsocket.RSocketSecurity;
+import org.springframework.security.rsocket.core.PayloadSocketAcceptorInterceptor;
+
+/**
+ * Configuración de seguridad del servidor RSocket
+ * El SETUP debe traer un token válido y cada ruta exige los mismos roles que su equivalente HTTP
+ */
+@Configuration
+@EnableRSocketSecurity
+public class RSocketSecurityConfig {
+
+    @Bean
+    public PayloadSocketAcceptorInterceptor rsocketInterceptor(RSocketSecurity rsocket,
+            RSocketTokenInterceptor tokenInterceptor) {
+        return rsocket
+                .addPayloadInterceptor(tokenInterceptor)
+                .authorizePayload(authorize -> authorize
+                        .setup().authenticated()
+                        .route("auth.validate").authenticated()
+                        // Consultas de permisos de otros usuarios: mismos roles que /users/*/permissions/check
+                        .route("auth.has-permission")
+                        .hasAnyRole("ADMIN", "USER_MANAGER", "VIEWER", "SUPER_ADMIN")
+                        .route("auth.permissions.check")
+                        .hasAnyRole("ADMIN", "USER_MANAGER", "VIEWER", "SUPER_ADMIN")
+                        // Cualquier otra ruta queda cerrada
+                        .anyRequest().denyAll()
+                        .anyExchange().permitAll())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.service.AuthService;
+import edu.pe.vallegrande.AuthenticationService.service.JwtService;
+import io.rsocket.exceptions.RejectedSetupException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.rsocket.PayloadInterceptorOrder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.rsocket.api.PayloadExchange;
+import org.springframework.security.rsocket.api.PayloadExchangeType;
+import org.springframework.security.rsocket.api.PayloadInterceptor;
+import org.springframework.security.rsocket.api.PayloadInterceptorChain;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Autenticación JWT de las conexiones RSocket
+ *
+ * El token llega como dato del SETUP y la autenticación resultante queda asociada a la conexión.
+ * Como una conexión puede vivir más que el token, cada petición vuelve a validarlo (expiración y logout)
+ * antes de pasar a la autorización por ruta.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RSocketTokenInterceptor implements PayloadInterceptor, Ordered {
+
+    private final AuthService authService;
+    private final JwtService jwtService;
+
+    @Override
+    public Mono<Void> intercept(PayloadExchange exchange, PayloadInterceptorChain chain) {
+        if (exchange.getType() == PayloadExchangeType.SETUP) {
+            String token = exchange.getPayload().getDataUtf8().trim();
+            return authenticate(token)
+                    .switchIfEmpty(Mono.error(new RejectedSetupException("Token inválido o ausente en el SETUP")))
+                    .doOnNext(authentication -> log.info("Conexión RSocket autenticada: {}", authentication.getName()))
+                    .flatMap(authentication -> chain.next(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)));
+        }
+        if (!exchange.getType().isRequest()) {
+            return chain.next(exchange);
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMap(authentication -> authentication.getCredentials() instanceof String token
+                        ? authService.validateToken(token)
+                        : Mono.just(false))
+                .filter(Boolean.TRUE::equals)
+                .switchIfEmpty(Mono.error(new AccessDeniedException("Token expirado o revocado")))
+                .then(chain.next(exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        return PayloadInterceptorOrder.AUTHENTICATION.getOrder();
+    }
+
+    /**
+     * Validar el token y construir la autenticación con sus roles; el token se conserva como credencial
+     */
+    private Mono<Authentication> authenticate(String token) {
+        if (token.isEmpty()) {
+            return Mono.empty();
+        }
+        return authService.validateToken(token)
+                .onErrorReturn(false)
+                .filter(Boolean.TRUE::equals)
+                .map(valid -> {
+                    List<SimpleGrantedAuthority> authorities = jwtService.extractRoles(token).stream()
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                            .collect(Collectors.toList());
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            jwtService.extractUsername(token), token, authorities);
+                    authentication.setDetails(jwtService.extractUserId(token));
+                    return authentication;
+                });
+    }
+}
@@ -0,0 +1,74 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.model.RoutePermission;
+import edu.pe.vallegrande.AuthenticationService.service.AssignmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Autorización de rutas basada en las reglas de route_permissions
+ * 
+ * Como matcher selecciona las peticiones que tienen una regla y la deja en las variables del
+ * contexto; como manager verifica que el usuario autenticado tenga el permiso requerido.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteAuthorizationManager
+        implements ServerWebExchangeMatcher, ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final String RULE_VARIABLE = "routePermission";
+
+    private final RouteAuthorizationRegistry registry;
+    private final AssignmentService assignmentService;
+
+    @Override
+    public Mono<MatchResult> matches(ServerWebExchange exchange) {
+        RoutePermission rule = registry.match(
+                exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().pathWithinApplication().value());
+        return rule != null
+                ? MatchResult.match(Map.of(RULE_VARIABLE, rule))
+                : MatchResult.notMatch();
+    }
+
+    @Override
+    public Mono<AuthorizationResult> authorize(Mono<Authentication> authentication, AuthorizationContext context) {
+        RoutePermission rule = (RoutePermission) context.getVariables().get(RULE_VARIABLE);
+
+        return authentication
+                .filter(Authentication::isAuthenticated)
+                .filter(auth -> auth.getDetails() instanceof UUID)
+                .flatMap(auth -> assignmentService.userHasPermission(
+                        (UUID) auth.getDetails(), rule.getModule(), rule.getAction(), rule.getResource()))
+                .doOnNext(allowed -> {
+                    if (!allowed) {
+                        log.warn("Acceso denegado por regla {} {} -> {}:{}", rule.getHttpMethod(),
+                                rule.getPathPattern(), rule.getModule(), rule.getAction());
+                    }
+                })
+                .<AuthorizationResult>map(AuthorizationDecision::new)
+                .defaultIfEmpty(new AuthorizationDecision(false));
+    }
+
+    /**
+     * Contrato anterior de Spring Security; delega en authorize
+     */
+    @Deprecated
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        return authorize(authentication, context).map(result -> new AuthorizationDecision(result.isGranted()));
+    }
+}
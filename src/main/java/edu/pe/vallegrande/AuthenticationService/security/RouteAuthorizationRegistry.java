@@ -0,0 +1,64 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.model.RoutePermission;
+import edu.pe.vallegrande.AuthenticationService.repository.RoutePermissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registro de reglas de autorización por ruta cargadas desde la tabla route_permissions
+ * 
+ * Las reglas se compilan en un RouteTrie inmutable que se reemplaza de forma atómica cuando
+ * cambia la huella de la tabla, sin necesidad de redesplegar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteAuthorizationRegistry {
+
+    private final RoutePermissionRepository routePermissionRepository;
+
+    private final AtomicReference<RouteTrie> routes = new AtomicReference<>(RouteTrie.empty());
+    private final AtomicReference<String> loadedFingerprint = new AtomicReference<>();
+
+    /**
+     * Buscar la regla aplicable a la petición, o null si ninguna aplica
+     */
+    public RoutePermission match(String method, String path) {
+        return routes.get().match(method, path);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh().subscribe();
+    }
+
+    /**
+     * Recargar las reglas si la tabla cambió desde la última carga
+     */
+    @Scheduled(fixedDelayString = "${authorization.route-rules.refresh-ms:30000}",
+            initialDelayString = "${authorization.route-rules.refresh-ms:30000}")
+    public Mono<Void> refresh() {
+        return routePermissionRepository.fingerprint()
+                .filter(fingerprint -> !fingerprint.equals(loadedFingerprint.get()))
+                .flatMap(fingerprint -> routePermissionRepository.findByActiveTrue()
+                        .collectList()
+                        .doOnNext(rules -> {
+                            routes.set(RouteTrie.compile(rules));
+                            loadedFingerprint.set(fingerprint);
+                            log.info("Reglas de autorización por ruta cargadas: {}", rules.size());
+                        }))
+                .onErrorResume(error -> {
+                    log.warn("No se pudieron recargar las reglas de autorización por ruta: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,114 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.model.RoutePermission;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie de reglas de autorización indexado por método HTTP y segmento de ruta
+ * 
+ * Las plantillas admiten segmentos literales, variables ("{id}" o "*") y un "**" final que
+ * cubre cero o más segmentos. Ante varias coincidencias gana la más específica: literal,
+ * luego variable y por último "**". El costo depende de la profundidad de la ruta, no del
+ * número de reglas.
+ */
+public final class RouteTrie {
+
+    private static final String ANY_METHOD = "*";
+    private static final String CATCH_ALL = "**";
+
+    private final Map<String, Node> roots = new HashMap<>();
+
+    private RouteTrie() {
+    }
+
+    /**
+     * Trie vacío: ninguna ruta tiene regla
+     */
+    public static RouteTrie empty() {
+        return new RouteTrie();
+    }
+
+    /**
+     * Compila las reglas en un trie de solo lectura
+     */
+    public static RouteTrie compile(Iterable<RoutePermission> rules) {
+        RouteTrie trie = new RouteTrie();
+        for (RoutePermission rule : rules) {
+            trie.insert(rule);
+        }
+        return trie;
+    }
+
+    /**
+     * Buscar la regla que aplica a la petición, o null si ninguna aplica
+     */
+    public RoutePermission match(String method, String path) {
+        String[] segments = segments(path);
+        Node root = roots.get(method);
+        RoutePermission rule = root != null ? find(root, segments, 0) : null;
+        if (rule == null && (root = roots.get(ANY_METHOD)) != null) {
+            rule = find(root, segments, 0);
+        }
+        return rule;
+    }
+
+    private void insert(RoutePermission rule) {
+        Node node = roots.computeIfAbsent(rule.getHttpMethod().toUpperCase(), key -> new Node());
+        for (String segment : segments(rule.getPathPattern())) {
+            if (CATCH_ALL.equals(segment)) {
+                node.catchAll = rule;
+                return;
+            }
+            if (isVariable(segment)) {
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node = node.literals.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.rule = rule;
+    }
+
+    private RoutePermission find(Node node, String[] segments, int index) {
+        if (index == segments.length) {
+            return node.rule != null ? node.rule : node.catchAll;
+        }
+        Node literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            RoutePermission rule = find(literal, segments, index + 1);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        if (node.variable != null) {
+            RoutePermission rule = find(node.variable, segments, index + 1);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.catchAll;
+    }
+
+    private static boolean isVariable(String segment) {
+        return "*".equals(segment) || (segment.startsWith("{") && segment.endsWith("}"));
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node variable;
+        private RoutePermission rule;
+        private RoutePermission catchAll;
+    }
+}
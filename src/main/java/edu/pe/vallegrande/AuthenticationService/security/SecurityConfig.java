@@ -17,6 +17,7 @@ import org.springframework.security.web.server.authentication.HttpStatusServerEn
 /**
  * Configuración de seguridad para el microservicio
  * Define qué endpoints están protegidos y qué roles pueden acceder
+ * Las reglas de route_permissions tienen prioridad sobre la configuración por roles
  */
 @Configuration
 @EnableWebFluxSecurity
@@ -25,6 +26,7 @@ import org.springframework.security.web.server.authentication.HttpStatusServerEn
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RouteAuthorizationManager routeAuthorizationManager;
 
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
@@ -46,10 +48,17 @@ public class SecurityConfig {
                         .pathMatchers("/swagger-ui/**", "/webjars/**", "/v3/api-docs/**", "/api-docs/**").permitAll()
                         .pathMatchers("/actuator/health").permitAll()
 
+                        // Reglas cargadas desde route_permissions (método + ruta -> permiso requerido)
+                        // Las rutas sin regla siguen usando la configuración por roles de abajo
+                        .matchers(routeAuthorizationManager).access(routeAuthorizationManager)
+
                         // Endpoints de Users - Requieren autenticación
                         .pathMatchers(HttpMethod.GET, "/api/v1/users/**")
                         .hasAnyRole("ADMIN", "USER_MANAGER", "VIEWER", "SUPER_ADMIN")
-                        .pathMatchers(HttpMethod.POST, "/api/v1/users").hasAnyRole("SUPER_ADMIN", "ADMIN")
+                        // La verificación de permisos es una consulta aunque use POST: mismo acceso que la lectura
+                        .pathMatchers(HttpMethod.POST, "/api/v1/users/*/permissions/check")
+                        .hasAnyRole("ADMIN", "USER_MANAGER", "VIEWER", "SUPER_ADMIN")
+                        .pathMatchers(HttpMethod.POST, "/api/v1/users", "/api/v1/users/**").hasAnyRole("SUPER_ADMIN", "ADMIN")
                         .pathMatchers(HttpMethod.PUT, "/api/v1/users/**").hasAnyRole("SUPER_ADMIN", "ADMIN")
                         .pathMatchers(HttpMethod.DELETE, "/api/v1/users/**").hasRole("SUPER_ADMIN")
                         .pathMatchers(HttpMethod.PATCH, "/api/v1/users/**").hasAnyRole("SUPER_ADMIN", "ADMIN")
@@ -57,7 +66,7 @@ public class SecurityConfig {
                         // Endpoints de Persons - Requieren autenticación
                         .pathMatchers(HttpMethod.GET, "/api/v1/persons/**")
                         .hasAnyRole("ADMIN", "USER_MANAGER", "VIEWER", "SUPER_ADMIN")
-                        .pathMatchers(HttpMethod.POST, "/api/v1/persons")
+                        .pathMatchers(HttpMethod.POST, "/api/v1/persons", "/api/v1/persons/**")
                         .hasAnyRole("SUPER_ADMIN", "ADMIN", "USER_MANAGER")
                         .pathMatchers(HttpMethod.PUT, "/api/v1/persons/**")
                         .hasAnyRole("SUPER_ADMIN", "ADMIN", "USER_MANAGER")
@@ -65,7 +74,7 @@ public class SecurityConfig {
 
                         // Endpoints de Roles - Solo SUPER_ADMIN
                         .pathMatchers(HttpMethod.GET, "/api/v1/roles/**").hasAnyRole("SUPER_ADMIN", "ADMIN", "VIEWER")
-                        .pathMatchers(HttpMethod.POST, "/api/v1/roles").hasRole("SUPER_ADMIN")
+                        .pathMatchers(HttpMethod.POST, "/api/v1/roles", "/api/v1/roles/**").hasRole("SUPER_ADMIN")
                         .pathMatchers(HttpMethod.PUT, "/api/v1/roles/**").hasRole("SUPER_ADMIN")
                         .pathMatchers(HttpMethod.DELETE, "/api/v1/roles/**").hasRole("SUPER_ADMIN")
                         .pathMatchers(HttpMethod.PATCH, "/api/v1/roles/**").hasRole("SUPER_ADMIN")
@@ -80,6 +89,9 @@ public class SecurityConfig {
                         // Endpoints de Assignments - SUPER_ADMIN y ADMIN
                         .pathMatchers("/api/v1/assignments/**").hasAnyRole("SUPER_ADMIN", "ADMIN")
 
+                        // Stream de cambios de autorización - SUPER_ADMIN y ADMIN
+                        .pathMatchers("/api/v1/authorization/events").hasAnyRole("SUPER_ADMIN", "ADMIN")
+
                         // Logout requiere estar autenticado
                         .pathMatchers("/api/v1/auth/logout").authenticated()
 
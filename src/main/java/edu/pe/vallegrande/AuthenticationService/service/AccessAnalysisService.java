@@ -0,0 +1,29 @@
+package edu.pe.vallegrande.AuthenticationService.service;
+
+import edu.pe.vallegrande.AuthenticationService.dto.EntitlementDiffDto;
+import edu.pe.vallegrande.AuthenticationService.dto.EntitlementDiffRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.ImpactSimulationRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.ImpactSimulationResultDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio de análisis de accesos sobre el índice en memoria
+ */
+public interface AccessAnalysisService {
+    
+    /**
+     * Simular el impacto de un cambio sin aplicarlo
+     */
+    Mono<ImpactSimulationResultDto> simulateImpact(ImpactSimulationRequestDto request);
+    
+    /**
+     * Comparar los permisos efectivos de un usuario contra otro usuario o una plantilla de roles
+     */
+    Mono<EntitlementDiffDto> diffEntitlements(EntitlementDiffRequestDto request);
+    
+    /**
+     * Comparar los permisos efectivos de varios usuarios contra la misma referencia
+     */
+    Flux<EntitlementDiffDto> diffEntitlementsBatch(EntitlementDiffRequestDto request);
+}
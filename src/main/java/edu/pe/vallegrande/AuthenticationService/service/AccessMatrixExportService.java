@@ -0,0 +1,20 @@
+package edu.pe.vallegrande.AuthenticationService.service;
+
+import edu.pe.vallegrande.AuthenticationService.dto.AccessMatrixRowDto;
+import reactor.core.publisher.Flux;
+
+/**
+ * Servicio para exportar la matriz de accesos usuario x rol x permiso
+ */
+public interface AccessMatrixExportService {
+    
+    /**
+     * Filas de la matriz para las asignaciones activas, en streaming desde un cursor de base de datos
+     */
+    Flux<AccessMatrixRowDto> streamRows();
+    
+    /**
+     * La misma matriz en formato CSV, una línea por elemento (la primera es la cabecera)
+     */
+    Flux<String> streamCsv();
+}
@@ -1,11 +1,20 @@
 package edu.pe.vallegrande.AuthenticationService.service;
 
 import edu.pe.vallegrande.AuthenticationService.dto.AssignRoleRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkAssignmentResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkRolePermissionAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkUserRoleAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import edu.pe.vallegrande.AuthenticationService.dto.MassRoleAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.MassRoleAssignmentResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionUserDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RolePermissionAssignmentDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserRoleAssignmentDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -57,6 +66,28 @@ public interface AssignmentService {
      */
     Flux<RolePermissionAssignmentDto> getRolesWithPermission(UUID permissionId);
     
+    /**
+     * Usuarios que reciben un permiso a través de sus roles, paginados por id de usuario
+     */
+    Mono<CursorPageDto<PermissionUserDto>> getUsersWithPermission(UUID permissionId, UUID after, int size);
+    
+    // === ASIGNACIONES MASIVAS ===
+    
+    /**
+     * Asignar roles a usuarios en bloque, devolviendo el resultado de cada par
+     */
+    Flux<BulkAssignmentResultDto> assignRolesToUsers(BulkUserRoleAssignmentRequestDto request);
+    
+    /**
+     * Asignar permisos a roles en bloque, devolviendo el resultado de cada par
+     */
+    Flux<BulkAssignmentResultDto> assignPermissionsToRoles(BulkRolePermissionAssignmentRequestDto request);
+    
+    /**
+     * Asignar un rol a todos los usuarios que cumplen un selector (área, posición, manager, status)
+     */
+    Mono<MassRoleAssignmentResultDto> assignRoleToMatchingUsers(UUID roleId, MassRoleAssignmentRequestDto selector);
+    
     // === CONSULTAS AVANZADAS ===
     
     /**
@@ -66,9 +97,15 @@ public interface AssignmentService {
     
     /**
      * Verificar si un usuario tiene un permiso específico
+     * Los permisos otorgados admiten comodines jerárquicos en el recurso (ej. "area/*")
      */
     Mono<Boolean> userHasPermission(UUID userId, String module, String action, String resource);
     
+    /**
+     * Verificar varios permisos "module:action:resource" de un usuario en una sola consulta
+     */
+    Mono<Map<String, Boolean>> checkPermissions(UUID userId, List<String> permissions);
+    
     /**
      * Verificar si un usuario tiene un rol específico
      */
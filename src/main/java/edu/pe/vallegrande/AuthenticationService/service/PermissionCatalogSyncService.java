@@ -0,0 +1,16 @@
+package edu.pe.vallegrande.AuthenticationService.service;
+
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionCatalogSyncRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionCatalogSyncResultDto;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio para sincronizar de forma declarativa el catálogo de permisos de un servicio
+ */
+public interface PermissionCatalogSyncService {
+    
+    /**
+     * Converger la tabla de permisos al catálogo declarado (upsert por módulo, acción y recurso)
+     */
+    Mono<PermissionCatalogSyncResultDto> syncCatalog(PermissionCatalogSyncRequestDto request);
+}
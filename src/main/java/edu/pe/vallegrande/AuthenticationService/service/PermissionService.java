@@ -1,5 +1,6 @@
 package edu.pe.vallegrande.AuthenticationService.service;
 
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogDocument;
 import edu.pe.vallegrande.AuthenticationService.model.Permission;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -12,6 +13,8 @@ public interface PermissionService {
     Mono<Permission> getPermissionByDetails(String module, String action, String resource);
     Flux<Permission> getAllPermissions();
     Flux<Permission> getPermissionsByModule(String module);
+    Mono<CatalogDocument> getPermissionsDocument();
+    Mono<CatalogDocument> getPermissionsByModuleDocument(String module);
     Mono<Boolean> existsPermission(String module, String action, String resource);
     Mono<Permission> updatePermission(UUID id, Permission permission);
     Mono<Void> deletePermission(UUID id);
@@ -0,0 +1,22 @@
+package edu.pe.vallegrande.AuthenticationService.service;
+
+import edu.pe.vallegrande.AuthenticationService.dto.PersonBulkLoadResultDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio para cargar personas en bloque (por ejemplo, desde el sistema de recursos humanos)
+ */
+public interface PersonBulkLoadService {
+    
+    /**
+     * Cargar personas desde líneas NDJSON (un PersonRequestDto por línea)
+     * Los registros válidos y sin conflictos se insertan en una sola transacción
+     */
+    Mono<PersonBulkLoadResultDto> loadNdjson(Flux<String> lines);
+    
+    /**
+     * Cargar personas desde líneas CSV con cabecera (columnas con los nombres de PersonRequestDto)
+     */
+    Mono<PersonBulkLoadResultDto> loadCsv(Flux<String> lines);
+}
@@ -1,10 +1,12 @@
 package edu.pe.vallegrande.AuthenticationService.service;
 
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
 import edu.pe.vallegrande.AuthenticationService.dto.PersonRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.PersonResponseDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -22,6 +24,17 @@ public interface PersonService {
      */
     Flux<PersonResponseDto> getAllPersons();
     
+    /**
+     * Transmitir todas las personas en streaming desde un cursor de base de datos
+     */
+    Flux<PersonResponseDto> streamAllPersons();
+    
+    /**
+     * Obtener una página de personas ordenada por (created_at, id)
+     * Solo se leen las columnas de los campos indicados en fields (todos si es nulo)
+     */
+    Mono<CursorPageDto<Map<String, Object>>> getPersonsPage(Boolean active, String cursor, int size, String fields);
+    
     /**
      * Obtener todas las personas activas
      */
@@ -1,10 +1,15 @@
 package edu.pe.vallegrande.AuthenticationService.service;
 
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogDocument;
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RoleCloneRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RoleCloneResultDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RoleRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RoleResponseDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -22,6 +27,12 @@ public interface RoleService {
      */
     Flux<RoleResponseDto> getAllRoles();
     
+    /**
+     * Obtener una página de roles ordenada por (created_at, id)
+     * Solo se leen las columnas de los campos indicados en fields (todos si es nulo)
+     */
+    Mono<CursorPageDto<Map<String, Object>>> getRolesPage(Boolean active, String cursor, int size, String fields);
+    
     /**
      * Obtener roles activos
      */
@@ -32,6 +43,11 @@ public interface RoleService {
      */
     Flux<RoleResponseDto> getInactiveRoles();
     
+    /**
+     * Listado de roles ya serializado del catálogo: todos (active nulo), activos o inactivos
+     */
+    Mono<CatalogDocument> getRolesDocument(Boolean active);
+    
     /**
      * Obtener rol por ID
      */
@@ -61,4 +77,29 @@ public interface RoleService {
      * Verificar si existe un rol por nombre
      */
     Mono<Boolean> existsByName(String name);
+    
+    /**
+     * Clonar un rol con sus permisos (opcionalmente filtrados por módulo) en una sola transacción
+     */
+    Mono<RoleCloneResultDto> cloneRole(UUID id, RoleCloneRequestDto request);
+    
+    /**
+     * Obtener los roles de los que el rol hereda directamente
+     */
+    Flux<RoleResponseDto> getParentRoles(UUID id);
+    
+    /**
+     * Obtener todos los roles de los que el rol hereda (directa o transitivamente)
+     */
+    Flux<RoleResponseDto> getInheritedRoles(UUID id);
+    
+    /**
+     * Hacer que el rol herede los permisos de otro rol
+     */
+    Mono<Void> addParentRole(UUID id, UUID parentRoleId);
+    
+    /**
+     * Quitar la herencia directa del rol respecto de otro rol
+     */
+    Mono<Void> removeParentRole(UUID id, UUID parentRoleId);
 }
\ No newline at end of file
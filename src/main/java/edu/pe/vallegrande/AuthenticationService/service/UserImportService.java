@@ -0,0 +1,23 @@
+package edu.pe.vallegrande.AuthenticationService.service;
+
+import edu.pe.vallegrande.AuthenticationService.dto.UserImportResultDto;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Servicio para importar usuarios en bloque (migraciones desde sistemas externos)
+ */
+public interface UserImportService {
+    
+    /**
+     * Importar usuarios desde líneas NDJSON (un UserRequestDto por línea)
+     * Devuelve el resultado de cada registro a medida que se procesa su lote
+     */
+    Flux<UserImportResultDto> importNdjson(Flux<String> lines, UUID createdBy);
+    
+    /**
+     * Importar usuarios desde líneas CSV con cabecera (columnas con los nombres de UserRequestDto)
+     */
+    Flux<UserImportResultDto> importCsv(Flux<String> lines, UUID createdBy);
+}
@@ -1,10 +1,13 @@
 package edu.pe.vallegrande.AuthenticationService.service;
 
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserResponseDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserVersionDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -22,6 +25,17 @@ public interface UserService {
      */
     Flux<UserResponseDto> getAllUsers();
     
+    /**
+     * Transmitir todos los usuarios en streaming desde un cursor de base de datos
+     */
+    Flux<UserResponseDto> streamAllUsers();
+    
+    /**
+     * Obtener una página de usuarios ordenada por (created_at, id)
+     * Solo se leen las columnas de los campos indicados en fields (todos si es nulo)
+     */
+    Mono<CursorPageDto<Map<String, Object>>> getUsersPage(String status, String cursor, int size, String fields);
+    
     /**
      * Obtener usuarios activos
      */
@@ -47,6 +61,16 @@ public interface UserService {
      */
     Mono<UserResponseDto> getUserByUsername(String username);
     
+    /**
+     * Obtener solo la versión de un usuario (validación de ETag)
+     */
+    Mono<UserVersionDto> getUserVersion(UUID id);
+    
+    /**
+     * Obtener solo la versión de un usuario por username (validación de ETag)
+     */
+    Mono<UserVersionDto> getUserVersionByUsername(String username);
+    
     /**
      * Obtener usuarios por área
      */
@@ -64,8 +88,9 @@ public interface UserService {
     
     /**
      * Actualizar un usuario
+     * Si expectedVersion no es nulo, la actualización solo procede cuando coincide con la versión actual
      */
-    Mono<UserResponseDto> updateUser(UUID id, UserRequestDto userRequestDto);
+    Mono<UserResponseDto> updateUser(UUID id, UserRequestDto userRequestDto, Integer expectedVersion);
     
     /**
      * Cambiar status de usuario
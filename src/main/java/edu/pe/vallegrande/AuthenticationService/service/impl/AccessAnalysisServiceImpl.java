@@ -0,0 +1,247 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogSnapshot;
+import edu.pe.vallegrande.AuthenticationService.dto.EntitlementDiffDto;
+import edu.pe.vallegrande.AuthenticationService.dto.EntitlementDiffRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.ImpactSimulationRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.ImpactSimulationResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionImpactDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionResponseDto;
+import edu.pe.vallegrande.AuthenticationService.exception.ResourceNotFoundException;
+import edu.pe.vallegrande.AuthenticationService.model.Permission;
+import edu.pe.vallegrande.AuthenticationService.repository.PermissionRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
+import edu.pe.vallegrande.AuthenticationService.security.AccessIndex;
+import edu.pe.vallegrande.AuthenticationService.security.AccessSnapshot;
+import edu.pe.vallegrande.AuthenticationService.service.AccessAnalysisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Implementación del análisis de accesos
+ * Todas las consultas se resuelven con operaciones de bitmaps sobre AccessSnapshot, sin consultas por usuario
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccessAnalysisServiceImpl implements AccessAnalysisService {
+
+    private static final int DEFAULT_USER_LIMIT = 1000;
+    private static final int MAX_USER_LIMIT = 10000;
+    private static final int MAX_DIFF_USERS = 1000;
+
+    private final AccessIndex accessIndex;
+    private final PermissionRepository permissionRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public Mono<ImpactSimulationResultDto> simulateImpact(ImpactSimulationRequestDto request) {
+        log.info("Simulando impacto del cambio: {}", request.getChange());
+        String change = request.getChange() != null ? request.getChange().toUpperCase() : "";
+        int limit = request.getLimit() != null
+                ? Math.max(0, Math.min(request.getLimit(), MAX_USER_LIMIT))
+                : DEFAULT_USER_LIMIT;
+
+        return switch (change) {
+            case "REMOVE_PERMISSION_FROM_ROLE" -> require(request.getRoleId() != null && request.getPermissionId() != null,
+                    "Debe indicar roleId y permissionId")
+                    .then(accessIndex.currentSnapshot())
+                    .map(snapshot -> {
+                        RoaringBitmap affected = snapshot.usersLosingPermission(request.getRoleId(), request.getPermissionId());
+                        return baseResult(change, request, snapshot, affected, limit)
+                                .permissions(List.of(PermissionImpactDto.builder()
+                                        .permissionId(request.getPermissionId())
+                                        .affectedUsers(affected.getLongCardinality())
+                                        .build()))
+                                .build();
+                    });
+            case "REMOVE_ROLE_FROM_USER" -> require(request.getUserId() != null && request.getRoleId() != null,
+                    "Debe indicar userId y roleId")
+                    .then(accessIndex.currentSnapshot())
+                    .map(snapshot -> {
+                        RoaringBitmap lost = snapshot.permissionsLostByUser(request.getUserId(), request.getRoleId());
+                        List<PermissionImpactDto> permissions = new ArrayList<>();
+                        lost.forEach((int permission) -> permissions.add(PermissionImpactDto.builder()
+                                .permissionId(snapshot.permissionId(permission))
+                                .affectedUsers(1L)
+                                .build()));
+                        return ImpactSimulationResultDto.builder()
+                                .change(change)
+                                .userId(request.getUserId())
+                                .roleId(request.getRoleId())
+                                .affectedUserCount(lost.isEmpty() ? 0L : 1L)
+                                .affectedUserIds(lost.isEmpty() ? List.of() : List.of(request.getUserId()))
+                                .truncated(false)
+                                .permissions(permissions)
+                                .build();
+                    });
+            case "DEACTIVATE_ROLE" -> require(request.getRoleId() != null, "Debe indicar roleId")
+                    .then(accessIndex.currentSnapshot())
+                    .map(snapshot -> {
+                        Map<Integer, RoaringBitmap> losing = snapshot.usersLosingPermissionsOfRole(request.getRoleId());
+                        RoaringBitmap affected = FastAggregation.or(losing.values().iterator());
+                        List<PermissionImpactDto> permissions = losing.entrySet().stream()
+                                .map(entry -> PermissionImpactDto.builder()
+                                        .permissionId(snapshot.permissionId(entry.getKey()))
+                                        .affectedUsers(entry.getValue().getLongCardinality())
+                                        .build())
+                                .sorted(Comparator.comparing(PermissionImpactDto::getAffectedUsers).reversed())
+                                .toList();
+                        return baseResult(change, request, snapshot, affected, limit)
+                                .permissions(permissions)
+                                .build();
+                    });
+            default -> Mono.error(new IllegalStateException(
+                    "Cambio no soportado: use REMOVE_PERMISSION_FROM_ROLE, REMOVE_ROLE_FROM_USER o DEACTIVATE_ROLE"));
+        };
+    }
+
+    @Override
+    public Mono<EntitlementDiffDto> diffEntitlements(EntitlementDiffRequestDto request) {
+        log.info("Comparando permisos del usuario {} contra la referencia", request.getUserId());
+
+        return require(request.getUserId() != null, "Debe indicar userId")
+                .thenMany(diff(List.of(request.getUserId()), request, true))
+                .next();
+    }
+
+    @Override
+    public Flux<EntitlementDiffDto> diffEntitlementsBatch(EntitlementDiffRequestDto request) {
+        List<UUID> userIds = request.getUserIds() == null ? List.of()
+                : request.getUserIds().stream().filter(Objects::nonNull).distinct().toList();
+        log.info("Comparando permisos de {} usuarios contra la referencia", userIds.size());
+
+        return require(!userIds.isEmpty(), "Debe indicar userIds")
+                .then(require(userIds.size() <= MAX_DIFF_USERS,
+                        "La comparación por lotes admite como máximo " + MAX_DIFF_USERS + " usuarios"))
+                .thenMany(diff(userIds, request, false));
+    }
+
+    /**
+     * Calcular las diferencias con bitmaps y resolver los detalles de todos los permisos en una consulta
+     */
+    private Flux<EntitlementDiffDto> diff(List<UUID> userIds, EntitlementDiffRequestDto request, boolean includeCommon) {
+        boolean byUser = request.getReferenceUserId() != null;
+        boolean byTemplate = request.getReferenceRoleIds() != null && !request.getReferenceRoleIds().isEmpty();
+
+        return require(byUser != byTemplate, "Debe indicar referenceUserId o referenceRoleIds (solo uno)")
+                .then(requireUsers(userIds, byUser ? request.getReferenceUserId() : null))
+                .then(accessIndex.currentSnapshot())
+                .flatMapMany(snapshot -> {
+                    RoaringBitmap reference = byUser
+                            ? snapshot.effectivePermissions(request.getReferenceUserId())
+                            : snapshot.permissionsOfRoles(request.getReferenceRoleIds());
+                    List<BitmapDiff> diffs = userIds.stream()
+                            .map(userId -> {
+                                RoaringBitmap subject = snapshot.effectivePermissions(userId);
+                                return new BitmapDiff(userId,
+                                        RoaringBitmap.andNot(reference, subject),
+                                        RoaringBitmap.andNot(subject, reference),
+                                        RoaringBitmap.and(subject, reference));
+                            })
+                            .toList();
+
+                    RoaringBitmap involved = new RoaringBitmap();
+                    diffs.forEach(diff -> {
+                        involved.or(diff.added());
+                        involved.or(diff.removed());
+                        if (includeCommon) {
+                            involved.or(diff.common());
+                        }
+                    });
+                    List<UUID> permissionIds = new ArrayList<>(involved.getCardinality());
+                    involved.forEach((int permission) -> permissionIds.add(snapshot.permissionId(permission)));
+
+                    return permissionRepository.findAllById(permissionIds)
+                            .collectMap(Permission::getId, CatalogSnapshot::toResponse)
+                            .flatMapMany(details -> Flux.fromIterable(diffs)
+                                    .map(diff -> EntitlementDiffDto.builder()
+                                            .userId(diff.userId())
+                                            .referenceUserId(request.getReferenceUserId())
+                                            .referenceRoleIds(byTemplate
+                                                    ? List.copyOf(new LinkedHashSet<>(request.getReferenceRoleIds()))
+                                                    : null)
+                                            .added(permissions(snapshot, diff.added(), details))
+                                            .removed(permissions(snapshot, diff.removed(), details))
+                                            .common(includeCommon ? permissions(snapshot, diff.common(), details) : null)
+                                            .addedCount(diff.added().getCardinality())
+                                            .removedCount(diff.removed().getCardinality())
+                                            .commonCount(diff.common().getCardinality())
+                                            .build()));
+                });
+    }
+
+    private List<PermissionResponseDto> permissions(AccessSnapshot snapshot, RoaringBitmap bitmap,
+            Map<UUID, PermissionResponseDto> details) {
+        List<PermissionResponseDto> result = new ArrayList<>(bitmap.getCardinality());
+        bitmap.forEach((int permission) -> {
+            PermissionResponseDto detail = details.get(snapshot.permissionId(permission));
+            if (detail != null) {
+                result.add(detail);
+            }
+        });
+        result.sort(Comparator.comparing(PermissionResponseDto::getModule, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(PermissionResponseDto::getAction, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(PermissionResponseDto::getResource, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return result;
+    }
+
+    private record BitmapDiff(UUID userId, RoaringBitmap added, RoaringBitmap removed, RoaringBitmap common) {
+    }
+
+    private ImpactSimulationResultDto.ImpactSimulationResultDtoBuilder baseResult(String change,
+            ImpactSimulationRequestDto request, AccessSnapshot snapshot, RoaringBitmap affected, int limit) {
+        return ImpactSimulationResultDto.builder()
+                .change(change)
+                .roleId(request.getRoleId())
+                .permissionId(request.getPermissionId())
+                .affectedUserCount(affected.getLongCardinality())
+                .affectedUserIds(userIds(snapshot, affected, limit))
+                .truncated(affected.getLongCardinality() > limit);
+    }
+
+    private List<UUID> userIds(AccessSnapshot snapshot, RoaringBitmap users, int limit) {
+        List<UUID> result = new ArrayList<>(Math.min(users.getCardinality(), limit));
+        var iterator = users.getIntIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(snapshot.userId(iterator.next()));
+        }
+        return result;
+    }
+
+    /**
+     * Verificar que existan los usuarios comparados y el de referencia
+     * Un usuario inexistente no tiene bits en el índice y se vería igual que uno sin permisos
+     */
+    private Mono<Void> requireUsers(List<UUID> userIds, UUID referenceUserId) {
+        LinkedHashSet<UUID> ids = new LinkedHashSet<>(userIds);
+        if (referenceUserId != null) {
+            ids.add(referenceUserId);
+        }
+        return userRepository.findExistingIds(ids.toArray(UUID[]::new))
+                .collectList()
+                .flatMap(existing -> {
+                    List<UUID> missing = ids.stream().filter(id -> !existing.contains(id)).toList();
+                    return missing.isEmpty()
+                            ? Mono.<Void>empty()
+                            : Mono.error(new ResourceNotFoundException("Usuarios no encontrados: " + missing));
+                });
+    }
+
+    private Mono<Void> require(boolean condition, String message) {
+        return condition ? Mono.empty() : Mono.error(new IllegalStateException(message));
+    }
+}
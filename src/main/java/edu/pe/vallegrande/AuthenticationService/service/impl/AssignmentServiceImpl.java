@@ -1,8 +1,22 @@
 package edu.pe.vallegrande.AuthenticationService.service.impl;
 
 import edu.pe.vallegrande.AuthenticationService.dto.AssignRoleRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkAssignmentResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkRolePermissionAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkUserRoleAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import edu.pe.vallegrande.AuthenticationService.dto.MassRoleAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.MassRoleAssignmentResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionUserDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RolePermissionPairDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RolePermissionAssignmentDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserRoleAssignmentDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserRolePairDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
 import edu.pe.vallegrande.AuthenticationService.exception.DuplicateResourceException;
 import edu.pe.vallegrande.AuthenticationService.exception.ResourceNotFoundException;
 import edu.pe.vallegrande.AuthenticationService.model.Permission;
@@ -13,15 +27,30 @@ import edu.pe.vallegrande.AuthenticationService.repository.RolePermissionReposit
 import edu.pe.vallegrande.AuthenticationService.repository.RoleRepository;
 import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
 import edu.pe.vallegrande.AuthenticationService.repository.UserRoleRepository;
+import edu.pe.vallegrande.AuthenticationService.security.AccessIndex;
+import edu.pe.vallegrande.AuthenticationService.security.AuthorizationDecisionCache;
+import edu.pe.vallegrande.AuthenticationService.security.PermissionTrie;
 import edu.pe.vallegrande.AuthenticationService.service.AssignmentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio de asignaciones
@@ -31,11 +60,19 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AssignmentServiceImpl implements AssignmentService {
 
+    private static final int MAX_BULK_ITEMS = 10000;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UserRoleRepository userRoleRepository;
     private final RolePermissionRepository rolePermissionRepository;
     private final PermissionRepository permissionRepository;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final AuthorizationDecisionCache decisionCache;
+    private final TransactionalOperator transactionalOperator;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final AccessIndex accessIndex;
 
     // === GESTIÓN USUARIO-ROL ===
 
@@ -52,6 +89,7 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Override
     public Mono<UserRoleAssignmentDto> assignRoleToUser(UUID userId, UUID roleId, AssignRoleRequestDto request) {
         log.info("Asignando rol {} al usuario {}", roleId, userId);
+        AuthorizationEventDto event = AuthorizationEvents.userRole(AuthorizationEventType.ROLE_ASSIGNED, userId, roleId);
 
         return userRepository.findById(userId)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Usuario no encontrado con ID: " + userId)))
@@ -72,7 +110,13 @@ public class AssignmentServiceImpl implements AssignmentService {
                             .active(request.getActive() != null ? request.getActive() : true)
                             .build();
 
-                    return userRoleRepository.save(userRole);
+                    return userRoleRepository.save(userRole)
+                            .flatMap(saved -> outboxWriter.record(event).thenReturn(saved));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> {
+                    decisionCache.invalidateUser(userId);
+                    eventPublisher.publish(event);
                 })
                 .flatMap(this::mapUserRoleToDto)
                 .doOnSuccess(assignment -> log.info("Rol asignado exitosamente: {} -> {}", userId, roleId));
@@ -81,13 +125,20 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Override
     public Mono<Void> removeRoleFromUser(UUID userId, UUID roleId) {
         log.info("Quitando rol {} del usuario {}", roleId, userId);
+        AuthorizationEventDto event = AuthorizationEvents.userRole(AuthorizationEventType.ROLE_REMOVED, userId, roleId);
 
         return userRoleRepository.existsByUserIdAndRoleId(userId, roleId)
                 .flatMap(exists -> {
                     if (!exists) {
                         return Mono.error(new ResourceNotFoundException("Asignación no encontrada"));
                     }
-                    return userRoleRepository.deleteByUserIdAndRoleId(userId, roleId);
+                    return userRoleRepository.deleteByUserIdAndRoleId(userId, roleId)
+                            .then(outboxWriter.record(event));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(unused -> {
+                    decisionCache.invalidateUser(userId);
+                    eventPublisher.publish(event);
                 })
                 .doOnSuccess(unused -> log.info("Rol removido exitosamente: {} -> {}", userId, roleId));
     }
@@ -117,6 +168,8 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Override
     public Mono<RolePermissionAssignmentDto> assignPermissionToRole(UUID roleId, UUID permissionId) {
         log.info("Asignando permiso {} al rol {}", permissionId, roleId);
+        AuthorizationEventDto event = AuthorizationEvents.rolePermission(
+                AuthorizationEventType.PERMISSION_GRANTED, roleId, permissionId);
 
         return roleRepository.findById(roleId)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Rol no encontrado con ID: " + roleId)))
@@ -132,8 +185,12 @@ public class AssignmentServiceImpl implements AssignmentService {
                             .createdAt(LocalDateTime.now())
                             .build();
 
-                    return rolePermissionRepository.save(rolePermission);
+                    return rolePermissionRepository.save(rolePermission)
+                            .flatMap(saved -> outboxWriter.record(event).thenReturn(saved));
                 })
+                .as(transactionalOperator::transactional)
+                .flatMap(saved -> invalidateRoleDecisions(roleId).thenReturn(saved))
+                .doOnNext(saved -> eventPublisher.publish(event))
                 .map(this::mapRolePermissionToDto)
                 .doOnSuccess(assignment -> log.info("Permiso asignado exitosamente: {} -> {}", roleId, permissionId));
     }
@@ -141,14 +198,20 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Override
     public Mono<Void> removePermissionFromRole(UUID roleId, UUID permissionId) {
         log.info("Quitando permiso {} del rol {}", permissionId, roleId);
+        AuthorizationEventDto event = AuthorizationEvents.rolePermission(
+                AuthorizationEventType.PERMISSION_REVOKED, roleId, permissionId);
 
         return rolePermissionRepository.existsByRoleIdAndPermissionId(roleId, permissionId)
                 .flatMap(exists -> {
                     if (!exists) {
                         return Mono.error(new ResourceNotFoundException("Asignación no encontrada"));
                     }
-                    return rolePermissionRepository.deleteByRoleIdAndPermissionId(roleId, permissionId);
+                    return rolePermissionRepository.deleteByRoleIdAndPermissionId(roleId, permissionId)
+                            .then(outboxWriter.record(event));
                 })
+                .as(transactionalOperator::transactional)
+                .then(Mono.defer(() -> invalidateRoleDecisions(roleId)))
+                .doOnSuccess(unused -> eventPublisher.publish(event))
                 .doOnSuccess(unused -> log.info("Permiso removido exitosamente: {} -> {}", roleId, permissionId));
     }
 
@@ -160,6 +223,200 @@ public class AssignmentServiceImpl implements AssignmentService {
                 .map(this::mapRolePermissionToDto);
     }
 
+    @Override
+    public Mono<CursorPageDto<PermissionUserDto>> getUsersWithPermission(UUID permissionId, UUID after, int size) {
+        log.info("Obteniendo usuarios con el permiso: {}", permissionId);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // Se pide un registro extra para saber si existe una página siguiente
+        return permissionRepository.findById(permissionId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Permiso no encontrado con ID: " + permissionId)))
+                .flatMap(permission -> userRoleRepository.findUsersWithPermission(permissionId, after, pageSize + 1)
+                        .collectList())
+                .map(users -> {
+                    boolean hasMore = users.size() > pageSize;
+                    List<PermissionUserDto> items = hasMore ? users.subList(0, pageSize) : users;
+                    return CursorPageDto.<PermissionUserDto>builder()
+                            .items(items)
+                            .nextCursor(hasMore ? items.get(items.size() - 1).getUserId().toString() : null)
+                            // Aproximado: el índice puede ir por detrás de los cambios de otras instancias
+                            .totalCount(accessIndex.isReady()
+                                    ? accessIndex.snapshot().countUsersWithPermission(permissionId)
+                                    : null)
+                            .build();
+                });
+    }
+
+    // === ASIGNACIONES MASIVAS ===
+
+    @Override
+    public Flux<BulkAssignmentResultDto> assignRolesToUsers(BulkUserRoleAssignmentRequestDto request) {
+        if (request.getAssignedBy() == null) {
+            return Flux.error(new IllegalStateException("La asignación masiva requiere el usuario que asigna (assignedBy)"));
+        }
+        if (hasIncompletePairs(request.getAssignments(),
+                pair -> pair.getUserId() != null && pair.getRoleId() != null)) {
+            return Flux.error(new IllegalStateException("Cada par de la asignación masiva requiere userId y roleId"));
+        }
+        List<UserRolePairDto> pairs = distinctPairs(request.getAssignments());
+        log.info("Asignando {} pares usuario-rol en bloque", pairs.size());
+        if (pairs.isEmpty()) {
+            return Flux.empty();
+        }
+        if (pairs.size() > MAX_BULK_ITEMS) {
+            return Flux.error(new IllegalStateException(
+                    "La asignación masiva admite como máximo " + MAX_BULK_ITEMS + " pares"));
+        }
+
+        return Mono.zip(
+                        userRepository.findExistingIds(distinctIds(pairs, UserRolePairDto::getUserId))
+                                .collect(Collectors.toSet()),
+                        roleRepository.findExistingIds(distinctIds(pairs, UserRolePairDto::getRoleId))
+                                .collect(Collectors.toSet()))
+                .flatMap(existing -> {
+                    Set<UUID> users = existing.getT1();
+                    Set<UUID> roles = existing.getT2();
+                    List<UserRolePairDto> valid = pairs.stream()
+                            .filter(pair -> users.contains(pair.getUserId()) && roles.contains(pair.getRoleId()))
+                            .toList();
+
+                    Mono<Set<UserRolePairDto>> inserted = valid.isEmpty()
+                            ? Mono.just(Set.of())
+                            : userRoleRepository.insertAllIgnoringExisting(
+                                            valid.stream().map(UserRolePairDto::getUserId).toArray(UUID[]::new),
+                                            valid.stream().map(UserRolePairDto::getRoleId).toArray(UUID[]::new),
+                                            request.getAssignedBy(),
+                                            request.getExpirationDate(),
+                                            request.getActive() != null ? request.getActive() : true)
+                                    .map(userRole -> new UserRolePairDto(userRole.getUserId(), userRole.getRoleId()))
+                                    .collect(Collectors.toSet());
+
+                    return inserted
+                            .flatMap(created -> outboxWriter.recordAll(created.stream()
+                                    .map(pair -> AuthorizationEvents.userRole(
+                                            AuthorizationEventType.ROLE_ASSIGNED, pair.getUserId(), pair.getRoleId()))
+                                    .toList()).thenReturn(created))
+                            .map(created -> pairs.stream()
+                            .map(pair -> BulkAssignmentResultDto.builder()
+                                    .userId(pair.getUserId())
+                                    .roleId(pair.getRoleId())
+                                    .status(!users.contains(pair.getUserId()) ? "USER_NOT_FOUND"
+                                            : !roles.contains(pair.getRoleId()) ? "ROLE_NOT_FOUND"
+                                            : created.contains(pair) ? "ASSIGNED" : "ALREADY_ASSIGNED")
+                                    .build())
+                            .toList());
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(results -> decisionCache.invalidateUsers(assignedIds(results, BulkAssignmentResultDto::getUserId)))
+                .doOnNext(results -> results.stream()
+                        .filter(result -> "ASSIGNED".equals(result.getStatus()))
+                        .forEach(result -> eventPublisher.publish(AuthorizationEvents.userRole(
+                                AuthorizationEventType.ROLE_ASSIGNED, result.getUserId(), result.getRoleId()))))
+                .doOnNext(results -> log.info("Asignación masiva usuario-rol completada: {} pares", results.size()))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Flux<BulkAssignmentResultDto> assignPermissionsToRoles(BulkRolePermissionAssignmentRequestDto request) {
+        if (hasIncompletePairs(request.getAssignments(),
+                pair -> pair.getRoleId() != null && pair.getPermissionId() != null)) {
+            return Flux.error(new IllegalStateException("Cada par de la asignación masiva requiere roleId y permissionId"));
+        }
+        List<RolePermissionPairDto> pairs = distinctPairs(request.getAssignments());
+        log.info("Asignando {} pares rol-permiso en bloque", pairs.size());
+        if (pairs.isEmpty()) {
+            return Flux.empty();
+        }
+        if (pairs.size() > MAX_BULK_ITEMS) {
+            return Flux.error(new IllegalStateException(
+                    "La asignación masiva admite como máximo " + MAX_BULK_ITEMS + " pares"));
+        }
+
+        return Mono.zip(
+                        roleRepository.findExistingIds(distinctIds(pairs, RolePermissionPairDto::getRoleId))
+                                .collect(Collectors.toSet()),
+                        permissionRepository.findExistingIds(distinctIds(pairs, RolePermissionPairDto::getPermissionId))
+                                .collect(Collectors.toSet()))
+                .flatMap(existing -> {
+                    Set<UUID> roles = existing.getT1();
+                    Set<UUID> permissions = existing.getT2();
+                    List<RolePermissionPairDto> valid = pairs.stream()
+                            .filter(pair -> roles.contains(pair.getRoleId())
+                                    && permissions.contains(pair.getPermissionId()))
+                            .toList();
+
+                    Mono<Set<RolePermissionPairDto>> inserted = valid.isEmpty()
+                            ? Mono.just(Set.of())
+                            : rolePermissionRepository.insertAllIgnoringExisting(
+                                            valid.stream().map(RolePermissionPairDto::getRoleId).toArray(UUID[]::new),
+                                            valid.stream().map(RolePermissionPairDto::getPermissionId).toArray(UUID[]::new))
+                                    .map(rolePermission -> new RolePermissionPairDto(
+                                            rolePermission.getRoleId(), rolePermission.getPermissionId()))
+                                    .collect(Collectors.toSet());
+
+                    return inserted
+                            .flatMap(created -> outboxWriter.recordAll(created.stream()
+                                    .map(pair -> AuthorizationEvents.rolePermission(
+                                            AuthorizationEventType.PERMISSION_GRANTED, pair.getRoleId(), pair.getPermissionId()))
+                                    .toList()).thenReturn(created))
+                            .map(created -> pairs.stream()
+                            .map(pair -> BulkAssignmentResultDto.builder()
+                                    .roleId(pair.getRoleId())
+                                    .permissionId(pair.getPermissionId())
+                                    .status(!roles.contains(pair.getRoleId()) ? "ROLE_NOT_FOUND"
+                                            : !permissions.contains(pair.getPermissionId()) ? "PERMISSION_NOT_FOUND"
+                                            : created.contains(pair) ? "ASSIGNED" : "ALREADY_ASSIGNED")
+                                    .build())
+                            .toList());
+                })
+                .as(transactionalOperator::transactional)
+                .flatMap(results -> invalidateRoleDecisions(assignedIds(results, BulkAssignmentResultDto::getRoleId))
+                        .thenReturn(results))
+                .doOnNext(results -> results.stream()
+                        .filter(result -> "ASSIGNED".equals(result.getStatus()))
+                        .forEach(result -> eventPublisher.publish(AuthorizationEvents.rolePermission(
+                                AuthorizationEventType.PERMISSION_GRANTED, result.getRoleId(), result.getPermissionId()))))
+                .doOnNext(results -> log.info("Asignación masiva rol-permiso completada: {} pares", results.size()))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Mono<MassRoleAssignmentResultDto> assignRoleToMatchingUsers(UUID roleId, MassRoleAssignmentRequestDto selector) {
+        log.info("Asignando rol {} a usuarios por selector: área={}, posición={}, manager={}, status={}", roleId,
+                selector.getAreaId(), selector.getPositionId(), selector.getManagerId(), selector.getStatus());
+
+        if (selector.getAreaId() == null && selector.getPositionId() == null
+                && selector.getManagerId() == null && selector.getStatus() == null) {
+            return Mono.error(new IllegalStateException(
+                    "Debe indicar al menos un criterio: área, posición, manager o status"));
+        }
+
+        return roleRepository.findById(roleId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Rol no encontrado con ID: " + roleId)))
+                .flatMap(role -> userRoleRepository.assignRoleToMatchingUsers(
+                                roleId,
+                                selector.getAreaId(),
+                                selector.getPositionId(),
+                                selector.getManagerId(),
+                                selector.getStatus(),
+                                selector.getAssignedBy(),
+                                selector.getExpirationDate(),
+                                selector.getActive() != null ? selector.getActive() : true)
+                        .map(userId -> AuthorizationEvents.userRole(AuthorizationEventType.ROLE_ASSIGNED, userId, roleId))
+                        .collectList())
+                .flatMap(events -> outboxWriter.recordAll(events).thenReturn(events))
+                .as(transactionalOperator::transactional)
+                .doOnNext(events -> {
+                    decisionCache.invalidateUsers(events.stream().map(AuthorizationEventDto::getUserId).toList());
+                    eventPublisher.publishAll(events);
+                })
+                .map(events -> MassRoleAssignmentResultDto.builder()
+                        .roleId(roleId)
+                        .affectedUsers((long) events.size())
+                        .build())
+                .doOnSuccess(result -> log.info("Rol {} asignado a {} usuarios", roleId, result.getAffectedUsers()));
+    }
+
     // === CONSULTAS AVANZADAS ===
 
     @Override
@@ -174,10 +431,23 @@ public class AssignmentServiceImpl implements AssignmentService {
     public Mono<Boolean> userHasPermission(UUID userId, String module, String action, String resource) {
         log.info("Verificando si usuario {} tiene permiso: {}:{}:{}", userId, module, action, resource);
 
-        return permissionRepository.findUserPermissions(userId)
-                .any(permission -> module.equals(permission.getModule()) &&
-                        action.equals(permission.getAction()) &&
-                        (resource == null || resource.equals(permission.getResource())));
+        return decisionCache.get(userId, module, action, resource,
+                () -> compileUserPermissions(userId).map(trie -> trie.matches(module, action, resource)));
+    }
+
+    @Override
+    public Mono<Map<String, Boolean>> checkPermissions(UUID userId, List<String> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+        if (permissions.size() > MAX_BULK_ITEMS) {
+            return Mono.error(new IllegalStateException(
+                    "La verificación masiva admite como máximo " + MAX_BULK_ITEMS + " permisos"));
+        }
+        log.info("Verificando {} permisos para el usuario: {}", permissions.size(), userId);
+
+        return compileUserPermissions(userId)
+                .map(trie -> evaluatePermissions(trie, permissions));
     }
 
     @Override
@@ -189,6 +459,65 @@ public class AssignmentServiceImpl implements AssignmentService {
 
     // === MÉTODOS AUXILIARES ===
 
+    /**
+     * Invalidar las decisiones cacheadas de todos los usuarios que tienen el rol o un rol que lo hereda
+     */
+    private Mono<Void> invalidateRoleDecisions(UUID roleId) {
+        return invalidateRoleDecisions(Set.of(roleId));
+    }
+
+    private Mono<Void> invalidateRoleDecisions(Collection<UUID> roleIds) {
+        if (roleIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return userRoleRepository.findUserIdsByRoleIds(roleIds.toArray(UUID[]::new))
+                .collectList()
+                .doOnNext(decisionCache::invalidateUsers)
+                .then();
+    }
+
+    /**
+     * Detectar pares nulos o con algún identificador nulo antes de tocar la base
+     */
+    private <T> boolean hasIncompletePairs(List<T> pairs, Predicate<T> complete) {
+        return pairs != null && pairs.stream().anyMatch(pair -> pair == null || !complete.test(pair));
+    }
+
+    /**
+     * Eliminar pares repetidos conservando el orden de la solicitud
+     */
+    private <T> List<T> distinctPairs(List<T> pairs) {
+        return pairs == null ? List.of() : List.copyOf(new LinkedHashSet<>(pairs));
+    }
+
+    private <T> UUID[] distinctIds(List<T> pairs, Function<T, UUID> id) {
+        return pairs.stream().map(id).filter(Objects::nonNull).distinct().toArray(UUID[]::new);
+    }
+
+    private Set<UUID> assignedIds(List<BulkAssignmentResultDto> results, Function<BulkAssignmentResultDto, UUID> id) {
+        return results.stream()
+                .filter(result -> "ASSIGNED".equals(result.getStatus()))
+                .map(id)
+                .collect(Collectors.toSet());
+    }
+
+    private Mono<PermissionTrie> compileUserPermissions(UUID userId) {
+        return decisionCache.permissions(userId, () -> permissionRepository.findUserPermissions(userId)
+                .collectList()
+                .map(PermissionTrie::compile));
+    }
+
+    private Map<String, Boolean> evaluatePermissions(PermissionTrie trie, List<String> permissions) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (String permission : permissions) {
+            String[] parts = permission.split(":", 3);
+            boolean allowed = parts.length >= 2
+                    && trie.matches(parts[0], parts[1], parts.length == 3 ? parts[2] : null);
+            result.put(permission, allowed);
+        }
+        return result;
+    }
+
     private Mono<UserRoleAssignmentDto> mapUserRoleToDto(UserRole userRole) {
         return Mono.zip(
                 userRepository.findById(userRole.getUserId()),
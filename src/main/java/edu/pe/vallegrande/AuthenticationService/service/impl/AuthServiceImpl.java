@@ -4,6 +4,11 @@ import edu.pe.vallegrande.AuthenticationService.dto.LoginRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.LoginResponseDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RefreshTokenRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.TokenResponseDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
 import edu.pe.vallegrande.AuthenticationService.exception.ResourceNotFoundException;
 import edu.pe.vallegrande.AuthenticationService.model.User;
 import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
@@ -14,6 +19,7 @@ import edu.pe.vallegrande.AuthenticationService.service.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
@@ -37,6 +43,9 @@ public class AuthServiceImpl implements AuthService {
     private final RoleRepository roleRepository;
     private final JwtService jwtService;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
 
     // Set para almacenar tokens invalidados (en producción usar Redis)
     private final Set<String> blacklistedTokens = new HashSet<>();
@@ -48,6 +57,11 @@ public class AuthServiceImpl implements AuthService {
         return userRepository.findByUsername(loginRequest.getUsername())
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Usuario no encontrado")))
                 .flatMap(user -> {
+                    // Verificar si está bloqueado antes de la comparación BCrypt (costosa)
+                    if (user.getBlockedUntil() != null && user.getBlockedUntil().isAfter(LocalDateTime.now())) {
+                        return Mono.error(new RuntimeException("Usuario bloqueado hasta: " + user.getBlockedUntil()));
+                    }
+
                     // Validar password (implementación temporal)
                     if (!validatePassword(loginRequest.getPassword(), user.getPasswordHash())) {
                         return incrementLoginAttempts(user)
@@ -59,11 +73,6 @@ public class AuthServiceImpl implements AuthService {
                         return Mono.error(new RuntimeException("Usuario inactivo o suspendido"));
                     }
 
-                    // Verificar si está bloqueado
-                    if (user.getBlockedUntil() != null && user.getBlockedUntil().isAfter(LocalDateTime.now())) {
-                        return Mono.error(new RuntimeException("Usuario bloqueado hasta: " + user.getBlockedUntil()));
-                    }
-
                     // Login exitoso
                     return processSuccessfulLogin(user);
                 })
@@ -197,7 +206,14 @@ public class AuthServiceImpl implements AuthService {
                     // Si supera 5 intentos, bloquear por 30 minutos
                     if (user.getLoginAttempts() != null && user.getLoginAttempts() >= 4) {
                         LocalDateTime blockedUntil = LocalDateTime.now().plusMinutes(30);
-                        userRepository.blockUser(user.getId(), blockedUntil).subscribe();
+                        AuthorizationEventDto event = AuthorizationEvents.user(
+                                AuthorizationEventType.USER_BLOCKED, user.getId(), "SUSPENDED");
+                        userRepository.blockUser(user.getId(), blockedUntil)
+                                .then(outboxWriter.record(event))
+                                .as(transactionalOperator::transactional)
+                                .subscribe(null, error -> log.error("Error al bloquear usuario {}: {}",
+                                        user.getUsername(), error.getMessage()),
+                                        () -> eventPublisher.publish(event));
                         log.warn("Usuario {} bloqueado por múltiples intentos fallidos", user.getUsername());
                     }
                 }));
@@ -0,0 +1,73 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Lectura de cargas CSV con cabecera (RFC 4180, sin saltos de línea dentro de los campos)
+ */
+final class CsvLines {
+
+    private CsvLines() {
+    }
+
+    /**
+     * Convertir las líneas de una carga en registros por nombre de columna
+     * Las líneas en blanco se omiten; el número de línea (desde 1) se conserva para los reportes
+     * y los valores vacíos se entregan como null
+     */
+    static <T> Flux<T> records(Flux<String> lines, BiFunction<Long, Map<String, String>, T> mapper) {
+        return lines.index()
+                .filter(line -> !line.getT2().isBlank())
+                .switchOnFirst((first, rest) -> {
+                    if (!first.hasValue()) {
+                        return rest.thenMany(Flux.<T>empty());
+                    }
+                    List<String> header = parse(first.get().getT2()).stream().map(String::trim).toList();
+                    return rest.skip(1).map(line -> mapper.apply(line.getT1() + 1, row(header, line.getT2())));
+                });
+    }
+
+    private static Map<String, String> row(List<String> header, String line) {
+        List<String> values = parse(line);
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            row.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return row;
+    }
+
+    static List<String> parse(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,188 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import edu.pe.vallegrande.AuthenticationService.catalog.AuthorizationCatalog;
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionCatalogSyncRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionCatalogSyncResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PermissionUpsertDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
+import edu.pe.vallegrande.AuthenticationService.repository.PermissionRepository;
+import edu.pe.vallegrande.AuthenticationService.security.AuthorizationDecisionCache;
+import edu.pe.vallegrande.AuthenticationService.service.PermissionCatalogSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementación de la sincronización del catálogo de permisos
+ *
+ * El catálogo se aplica como upsert por lotes (una sentencia con arreglos paralelos por lote) y,
+ * opcionalmente, una eliminación de los permisos no declarados, todo en una misma transacción.
+ * Volver a enviar el mismo catálogo no produce cambios.
+ */
+@Slf4j
+@Service
+public class PermissionCatalogSyncServiceImpl implements PermissionCatalogSyncService {
+
+    private static final int MAX_MODULE_LENGTH = 50;
+    private static final int MAX_ACTION_LENGTH = 50;
+    private static final int MAX_RESOURCE_LENGTH = 100;
+
+    private final PermissionRepository permissionRepository;
+    private final AuthorizationDecisionCache decisionCache;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
+    private final AuthorizationCatalog catalog;
+    private final int batchSize;
+
+    public PermissionCatalogSyncServiceImpl(PermissionRepository permissionRepository,
+            AuthorizationDecisionCache decisionCache,
+            AuthorizationEventPublisher eventPublisher,
+            AuthorizationOutboxWriter outboxWriter,
+            TransactionalOperator transactionalOperator,
+            AuthorizationCatalog catalog,
+            @Value("${authorization.catalog-sync.batch-size:500}") int batchSize) {
+        this.permissionRepository = permissionRepository;
+        this.decisionCache = decisionCache;
+        this.eventPublisher = eventPublisher;
+        this.outboxWriter = outboxWriter;
+        this.transactionalOperator = transactionalOperator;
+        this.catalog = catalog;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Mono<PermissionCatalogSyncResultDto> syncCatalog(PermissionCatalogSyncRequestDto request) {
+        if (request.getPermissions() == null || request.getPermissions().isEmpty()) {
+            return Mono.error(new IllegalStateException("Debe indicar al menos un permiso"));
+        }
+        String invalid = validate(request.getPermissions());
+        if (invalid != null) {
+            return Mono.error(new IllegalStateException(invalid));
+        }
+        // Un mismo permiso dos veces en un lote haría fallar el upsert; gana la última declaración
+        List<PermissionRequestDto> entries = deduplicate(request.getPermissions());
+        boolean prune = Boolean.TRUE.equals(request.getPrune());
+        log.info("Sincronizando catálogo de permisos: {} declarados (prune={})", entries.size(), prune);
+
+        return Flux.fromIterable(partition(entries))
+                .concatMap(batch -> permissionRepository.upsertAll(
+                        batch.stream().map(PermissionRequestDto::getModule).toArray(String[]::new),
+                        batch.stream().map(PermissionRequestDto::getAction).toArray(String[]::new),
+                        batch.stream().map(PermissionRequestDto::getResource).toArray(String[]::new),
+                        batch.stream().map(PermissionRequestDto::getDescription).toArray(String[]::new),
+                        request.getCreatedBy()))
+                .collectList()
+                .flatMap(upserts -> (prune ? deleteMissing(entries, request.getPruneModules()) : Mono.just(List.<UUID>of()))
+                        .flatMap(deleted -> {
+                            List<AuthorizationEventDto> events = new ArrayList<>();
+                            upserts.stream()
+                                    .filter(upsert -> !Boolean.TRUE.equals(upsert.getCreated()))
+                                    .forEach(upsert -> events.add(AuthorizationEvents.permission(
+                                            AuthorizationEventType.PERMISSION_UPDATED, upsert.getId())));
+                            deleted.forEach(id -> events.add(AuthorizationEvents.permission(
+                                    AuthorizationEventType.PERMISSION_DELETED, id)));
+                            return outboxWriter.recordAll(events)
+                                    .thenReturn(new SyncOutcome(upserts, deleted, events));
+                        }))
+                .as(transactionalOperator::transactional)
+                .doOnNext(outcome -> {
+                    if (!outcome.deleted().isEmpty()) {
+                        decisionCache.invalidateAll();
+                    }
+                    eventPublisher.publishAll(outcome.events());
+                })
+                .flatMap(outcome -> catalog.refresh().thenReturn(outcome))
+                .map(outcome -> {
+                    int created = (int) outcome.upserts().stream()
+                            .filter(upsert -> Boolean.TRUE.equals(upsert.getCreated()))
+                            .count();
+                    int updated = outcome.upserts().size() - created;
+                    return PermissionCatalogSyncResultDto.builder()
+                            .received(entries.size())
+                            .created(created)
+                            .updated(updated)
+                            .unchanged(entries.size() - created - updated)
+                            .deleted(outcome.deleted().size())
+                            .build();
+                })
+                .doOnSuccess(result -> log.info("Catálogo sincronizado: {} creados, {} actualizados, {} sin cambios, {} eliminados",
+                        result.getCreated(), result.getUpdated(), result.getUnchanged(), result.getDeleted()))
+                .doOnError(error -> log.error("Error al sincronizar catálogo de permisos: {}", error.getMessage()));
+    }
+
+    private Mono<List<UUID>> deleteMissing(List<PermissionRequestDto> entries, List<String> pruneModules) {
+        LinkedHashSet<String> scope = new LinkedHashSet<>();
+        if (pruneModules != null && !pruneModules.isEmpty()) {
+            scope.addAll(pruneModules);
+        } else {
+            entries.forEach(entry -> scope.add(entry.getModule()));
+        }
+        return permissionRepository.deleteMissing(
+                        scope.toArray(String[]::new),
+                        entries.stream().map(PermissionRequestDto::getModule).toArray(String[]::new),
+                        entries.stream().map(PermissionRequestDto::getAction).toArray(String[]::new),
+                        entries.stream().map(PermissionRequestDto::getResource).toArray(String[]::new))
+                .collectList();
+    }
+
+    private static String validate(List<PermissionRequestDto> permissions) {
+        for (int i = 0; i < permissions.size(); i++) {
+            PermissionRequestDto entry = permissions.get(i);
+            if (entry == null || isBlank(entry.getModule()) || isBlank(entry.getAction())) {
+                return "Permiso inválido en la posición " + i + ": módulo y acción son obligatorios";
+            }
+            if (entry.getModule().length() > MAX_MODULE_LENGTH || entry.getAction().length() > MAX_ACTION_LENGTH
+                    || (entry.getResource() != null && entry.getResource().length() > MAX_RESOURCE_LENGTH)) {
+                return "Permiso inválido en la posición " + i + ": excede la longitud permitida";
+            }
+        }
+        return null;
+    }
+
+    private static List<PermissionRequestDto> deduplicate(List<PermissionRequestDto> permissions) {
+        Map<String, PermissionRequestDto> byKey = new LinkedHashMap<>();
+        for (PermissionRequestDto entry : permissions) {
+            String resource = isBlank(entry.getResource()) ? null : entry.getResource();
+            PermissionRequestDto normalized = PermissionRequestDto.builder()
+                    .module(entry.getModule())
+                    .action(entry.getAction())
+                    .resource(resource)
+                    .description(entry.getDescription())
+                    .build();
+            byKey.put(entry.getModule() + '\u0000' + entry.getAction() + '\u0000' + (resource != null ? resource : ""),
+                    normalized);
+        }
+        return new ArrayList<>(byKey.values());
+    }
+
+    private List<List<PermissionRequestDto>> partition(List<PermissionRequestDto> entries) {
+        List<List<PermissionRequestDto>> batches = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            batches.add(entries.subList(from, Math.min(from + batchSize, entries.size())));
+        }
+        return batches;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record SyncOutcome(List<PermissionUpsertDto> upserts, List<UUID> deleted, List<AuthorizationEventDto> events) {
+    }
+}
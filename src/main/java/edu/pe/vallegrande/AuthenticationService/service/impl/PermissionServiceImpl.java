@@ -1,12 +1,21 @@
 package edu.pe.vallegrande.AuthenticationService.service.impl;
 
+import edu.pe.vallegrande.AuthenticationService.catalog.AuthorizationCatalog;
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogDocument;
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogSnapshot;
 import edu.pe.vallegrande.AuthenticationService.exception.DuplicateResourceException;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
 import edu.pe.vallegrande.AuthenticationService.exception.ResourceNotFoundException;
 import edu.pe.vallegrande.AuthenticationService.model.Permission;
 import edu.pe.vallegrande.AuthenticationService.repository.PermissionRepository;
+import edu.pe.vallegrande.AuthenticationService.security.AuthorizationDecisionCache;
 import edu.pe.vallegrande.AuthenticationService.service.PermissionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -18,6 +27,11 @@ import java.util.UUID;
 public class PermissionServiceImpl implements PermissionService {
 
     private final PermissionRepository permissionRepository;
+    private final AuthorizationDecisionCache decisionCache;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
+    private final AuthorizationCatalog catalog;
 
     @Override
     public Mono<Permission> createPermission(Permission permission) {
@@ -32,7 +46,8 @@ public class PermissionServiceImpl implements PermissionService {
                         return Mono.error(new DuplicateResourceException("Permission already exists with these details"));
                     }
                     return permissionRepository.save(permission);
-                });
+                })
+                .flatMap(saved -> catalog.refresh().thenReturn(saved));
     }
 
     @Override
@@ -59,6 +74,16 @@ public class PermissionServiceImpl implements PermissionService {
         return permissionRepository.findByModule(module);
     }
 
+    @Override
+    public Mono<CatalogDocument> getPermissionsDocument() {
+        return catalog.current().map(CatalogSnapshot::permissionsDocument);
+    }
+
+    @Override
+    public Mono<CatalogDocument> getPermissionsByModuleDocument(String module) {
+        return catalog.current().map(snapshot -> snapshot.permissionsByModuleDocument(module));
+    }
+
     @Override
     public Mono<Boolean> existsPermission(String module, String action, String resource) {
         return permissionRepository.existsByModuleAndActionAndResource(module, action, resource);
@@ -73,15 +98,30 @@ public class PermissionServiceImpl implements PermissionService {
                     existing.setAction(permission.getAction());
                     existing.setResource(permission.getResource());
                     existing.setDescription(permission.getDescription());
-                    return permissionRepository.save(existing);
-                });
+                    return permissionRepository.save(existing)
+                            .flatMap(saved -> outboxWriter.record(AuthorizationEvents.permission(
+                                    AuthorizationEventType.PERMISSION_UPDATED, id)).thenReturn(saved));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(updated -> {
+                    decisionCache.invalidateAll();
+                    eventPublisher.publish(AuthorizationEvents.permission(AuthorizationEventType.PERMISSION_UPDATED, id));
+                })
+                .flatMap(updated -> catalog.refresh().thenReturn(updated));
     }
 
     @Override
     public Mono<Void> deletePermission(UUID id) {
         return permissionRepository.findById(id)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Permission not found with id: " + id)))
-                .flatMap(permission -> permissionRepository.delete(permission))
-                .then();
+                .flatMap(permission -> permissionRepository.delete(permission)
+                        .then(outboxWriter.record(AuthorizationEvents.permission(
+                                AuthorizationEventType.PERMISSION_DELETED, id))))
+                .as(transactionalOperator::transactional)
+                .then(Mono.fromRunnable(() -> {
+                    decisionCache.invalidateAll();
+                    eventPublisher.publish(AuthorizationEvents.permission(AuthorizationEventType.PERMISSION_DELETED, id));
+                }))
+                .then(catalog.refresh());
     }
 }
@@ -0,0 +1,349 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.pe.vallegrande.AuthenticationService.dto.PersonBulkLoadResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PersonLoadConflictDto;
+import edu.pe.vallegrande.AuthenticationService.dto.PersonRequestDto;
+import edu.pe.vallegrande.AuthenticationService.service.PersonBulkLoadService;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de la carga masiva de personas
+ *
+ * Los registros válidos se transmiten con COPY a una tabla temporal de la misma conexión y se
+ * combinan con persons mediante sentencias sobre conjuntos: primero se marcan los conflictos
+ * (documento o email existente, duplicados dentro de la carga, tipo de documento inexistente) y luego
+ * se insertan los restantes con un solo INSERT ... SELECT. Todo ocurre en una transacción; la tabla
+ * temporal se elimina al confirmar.
+ */
+@Slf4j
+@Service
+public class PersonBulkLoadServiceImpl implements PersonBulkLoadService {
+
+    private static final int COPY_ROWS_PER_CHUNK = 1000;
+    private static final int MAX_DOCUMENT_LENGTH = 20;
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_PHONE_LENGTH = 20;
+    private static final int MAX_EMAIL_LENGTH = 200;
+
+    private static final String CREATE_STAGING = """
+        CREATE TEMP TABLE person_load (
+            line             BIGINT PRIMARY KEY,
+            document_type_id INTEGER NOT NULL,
+            document_number  VARCHAR(20) NOT NULL,
+            first_name       VARCHAR(100) NOT NULL,
+            last_name        VARCHAR(100) NOT NULL,
+            middle_name      VARCHAR(100),
+            birth_date       DATE,
+            gender           CHAR(1),
+            personal_phone   VARCHAR(20),
+            work_phone       VARCHAR(20),
+            personal_email   VARCHAR(200),
+            address          TEXT,
+            conflict         VARCHAR(30)
+        ) ON COMMIT DROP
+        """;
+
+    private static final String COPY_STAGING = """
+        COPY person_load (line, document_type_id, document_number, first_name, last_name, middle_name,
+                          birth_date, gender, personal_phone, work_phone, personal_email, address)
+        FROM STDIN WITH (FORMAT csv)
+        """;
+
+    /**
+     * Preparación y marcado de conflictos, en orden; cada regla solo considera filas aún sin conflicto
+     * El bloqueo impide escrituras concurrentes en persons entre la verificación y la inserción
+     * (la unicidad del email no tiene restricción en la base de datos)
+     */
+    private static final List<String> MERGE_STEPS = List.of(
+        "CREATE INDEX ON person_load (document_type_id, document_number)",
+        "CREATE INDEX ON person_load (personal_email)",
+        "ANALYZE person_load",
+        "LOCK TABLE persons IN SHARE ROW EXCLUSIVE MODE",
+        """
+        UPDATE person_load s SET conflict = 'INVALID_DOCUMENT_TYPE'
+        WHERE NOT EXISTS (SELECT 1 FROM document_types d WHERE d.id = s.document_type_id)
+        """,
+        """
+        UPDATE person_load s SET conflict = 'DOCUMENT_EXISTS'
+        FROM persons p
+        WHERE s.conflict IS NULL
+        AND p.document_type_id = s.document_type_id
+        AND p.document_number = s.document_number
+        """,
+        """
+        UPDATE person_load s SET conflict = 'EMAIL_EXISTS'
+        WHERE s.conflict IS NULL
+        AND s.personal_email IS NOT NULL
+        AND EXISTS (SELECT 1 FROM persons p WHERE p.personal_email = s.personal_email)
+        """,
+        """
+        UPDATE person_load s SET conflict = 'DUPLICATE_DOCUMENT_IN_FILE'
+        FROM (
+            SELECT line, row_number() OVER (PARTITION BY document_type_id, document_number ORDER BY line) AS position
+            FROM person_load
+            WHERE conflict IS NULL
+        ) d
+        WHERE s.line = d.line AND d.position > 1
+        """,
+        """
+        UPDATE person_load s SET conflict = 'DUPLICATE_EMAIL_IN_FILE'
+        FROM (
+            SELECT line, row_number() OVER (PARTITION BY personal_email ORDER BY line) AS position
+            FROM person_load
+            WHERE conflict IS NULL AND personal_email IS NOT NULL
+        ) d
+        WHERE s.line = d.line AND d.position > 1
+        """);
+
+    private static final String INSERT_PERSONS = """
+        INSERT INTO persons (document_type_id, document_number, first_name, last_name, middle_name, birth_date,
+                             gender, personal_phone, work_phone, personal_email, address, status, created_at, updated_at)
+        SELECT document_type_id, document_number, first_name, last_name, middle_name, birth_date,
+               gender, personal_phone, work_phone, personal_email, address, true, NOW(), NOW()
+        FROM person_load
+        WHERE conflict IS NULL
+        ORDER BY line
+        """;
+
+    private static final String SELECT_CONFLICTS = """
+        SELECT line, document_type_id, document_number, personal_email, conflict
+        FROM person_load
+        WHERE conflict IS NOT NULL
+        ORDER BY line
+        """;
+
+    private static final Map<String, String> CONFLICT_MESSAGES = Map.of(
+            "INVALID_DOCUMENT_TYPE", "Tipo de documento inexistente",
+            "DOCUMENT_EXISTS", "Ya existe una persona con el documento",
+            "EMAIL_EXISTS", "Ya existe una persona con el email",
+            "DUPLICATE_DOCUMENT_IN_FILE", "Documento repetido en la carga",
+            "DUPLICATE_EMAIL_IN_FILE", "Email repetido en la carga");
+
+    private final ConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+
+    public PersonBulkLoadServiceImpl(ConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        this.connectionFactory = connectionFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<PersonBulkLoadResultDto> loadNdjson(Flux<String> lines) {
+        return load(lines.index()
+                .filter(line -> !line.getT2().isBlank())
+                .map(line -> parseJson(line.getT1() + 1, line.getT2())));
+    }
+
+    @Override
+    public Mono<PersonBulkLoadResultDto> loadCsv(Flux<String> lines) {
+        return load(CsvLines.records(lines, this::parseCsv));
+    }
+
+    private Mono<PersonBulkLoadResultDto> load(Flux<LoadRecord> records) {
+        log.info("Iniciando carga masiva de personas");
+        long start = System.nanoTime();
+        AtomicLong received = new AtomicLong();
+        Queue<PersonLoadConflictDto> invalid = new ConcurrentLinkedQueue<>();
+
+        // Los registros inválidos se informan sin enviarse a la base de datos
+        Flux<ByteBuf> copyData = records
+                .doOnNext(record -> received.incrementAndGet())
+                .filter(record -> {
+                    if (record.error() == null) {
+                        return true;
+                    }
+                    invalid.add(conflict(record, "INVALID", record.error()));
+                    return false;
+                })
+                .map(PersonBulkLoadServiceImpl::toCopyLine)
+                .buffer(COPY_ROWS_PER_CHUNK)
+                .map(chunk -> Unpooled.wrappedBuffer(String.join("", chunk).getBytes(StandardCharsets.UTF_8)));
+
+        return Mono.usingWhen(connectionFactory.create(),
+                        connection -> Mono.from(connection.beginTransaction())
+                                .then(merge(postgresql(connection), copyData))
+                                .flatMap(outcome -> Mono.from(connection.commitTransaction()).thenReturn(outcome))
+                                .onErrorResume(error -> Mono.from(connection.rollbackTransaction()).then(Mono.error(error))),
+                        Connection::close)
+                .map(outcome -> {
+                    List<PersonLoadConflictDto> conflicts = Stream.concat(invalid.stream(), outcome.conflicts().stream())
+                            .sorted(Comparator.comparing(PersonLoadConflictDto::getLine))
+                            .toList();
+                    return PersonBulkLoadResultDto.builder()
+                            .received(received.get())
+                            .loaded(outcome.loaded())
+                            .rejected((long) conflicts.size())
+                            .conflicts(conflicts)
+                            .build();
+                })
+                .doOnSuccess(result -> log.info("Carga masiva de personas completada: {} recibidas, {} cargadas, {} rechazadas en {} ms",
+                        result.getReceived(), result.getLoaded(), result.getRejected(), (System.nanoTime() - start) / 1_000_000))
+                .doOnError(error -> log.error("Error en la carga masiva de personas: {}", error.getMessage()));
+    }
+
+    private Mono<MergeOutcome> merge(PostgresqlConnection connection, Flux<ByteBuf> copyData) {
+        return execute(connection, CREATE_STAGING)
+                .then(connection.copyIn(COPY_STAGING, copyData))
+                .doOnNext(copied -> log.info("Personas copiadas a la tabla temporal: {}", copied))
+                .thenMany(Flux.fromIterable(MERGE_STEPS).concatMap(step -> execute(connection, step)))
+                .then(execute(connection, INSERT_PERSONS))
+                .flatMap(loaded -> connection.createStatement(SELECT_CONFLICTS).execute()
+                        .flatMap(result -> result.map((row, metadata) -> {
+                            String reason = row.get("conflict", String.class);
+                            return PersonLoadConflictDto.builder()
+                                    .line(row.get("line", Long.class))
+                                    .documentTypeId(row.get("document_type_id", Integer.class))
+                                    .documentNumber(row.get("document_number", String.class))
+                                    .personalEmail(row.get("personal_email", String.class))
+                                    .reason(reason)
+                                    .message(CONFLICT_MESSAGES.get(reason))
+                                    .build();
+                        }))
+                        .collectList()
+                        .map(conflicts -> new MergeOutcome(loaded, conflicts)));
+    }
+
+    private static Mono<Long> execute(PostgresqlConnection connection, String sql) {
+        return connection.createStatement(sql).execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * COPY es propio del driver de PostgreSQL; la conexión del pool se desenvuelve hasta llegar a él
+     */
+    private static PostgresqlConnection postgresql(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("La carga masiva de personas requiere una conexión PostgreSQL");
+    }
+
+    private LoadRecord parseJson(long line, String json) {
+        try {
+            PersonRequestDto person = objectMapper.readValue(json, PersonRequestDto.class);
+            return person != null ? validated(line, person) : new LoadRecord(line, null, "Registro vacío");
+        } catch (JsonProcessingException e) {
+            return new LoadRecord(line, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private LoadRecord parseCsv(long line, Map<String, String> row) {
+        try {
+            return validated(line, PersonRequestDto.builder()
+                    .documentTypeId(row.get("documentTypeId") != null ? Integer.valueOf(row.get("documentTypeId")) : null)
+                    .documentNumber(row.get("documentNumber"))
+                    .firstName(row.get("firstName"))
+                    .lastName(row.get("lastName"))
+                    .middleName(row.get("middleName"))
+                    .birthDate(row.get("birthDate") != null ? LocalDate.parse(row.get("birthDate")) : null)
+                    .gender(row.get("gender"))
+                    .personalPhone(row.get("personalPhone"))
+                    .workPhone(row.get("workPhone"))
+                    .personalEmail(row.get("personalEmail"))
+                    .address(row.get("address"))
+                    .build());
+        } catch (NumberFormatException e) {
+            return new LoadRecord(line, null, "documentTypeId inválido: " + row.get("documentTypeId"));
+        } catch (DateTimeParseException e) {
+            return new LoadRecord(line, null, "birthDate inválida (formato AAAA-MM-DD): " + row.get("birthDate"));
+        }
+    }
+
+    private static LoadRecord validated(long line, PersonRequestDto person) {
+        if (isBlank(person.getPersonalEmail())) {
+            person.setPersonalEmail(null);
+        }
+        String error = validate(person);
+        return new LoadRecord(line, person, error);
+    }
+
+    private static String validate(PersonRequestDto person) {
+        if (person.getDocumentTypeId() == null || isBlank(person.getDocumentNumber())
+                || isBlank(person.getFirstName()) || isBlank(person.getLastName())) {
+            return "documentTypeId, documentNumber, firstName y lastName son obligatorios";
+        }
+        if (person.getGender() != null && !person.getGender().equals("M") && !person.getGender().equals("F")) {
+            return "Género inválido: " + person.getGender();
+        }
+        if (exceeds(person.getDocumentNumber(), MAX_DOCUMENT_LENGTH)
+                || exceeds(person.getFirstName(), MAX_NAME_LENGTH) || exceeds(person.getLastName(), MAX_NAME_LENGTH)
+                || exceeds(person.getMiddleName(), MAX_NAME_LENGTH)
+                || exceeds(person.getPersonalPhone(), MAX_PHONE_LENGTH) || exceeds(person.getWorkPhone(), MAX_PHONE_LENGTH)
+                || exceeds(person.getPersonalEmail(), MAX_EMAIL_LENGTH)) {
+            return "Un campo excede la longitud permitida";
+        }
+        return null;
+    }
+
+    /**
+     * Línea COPY en formato CSV: los nulos van vacíos y los textos entre comillas (así "" es cadena vacía)
+     */
+    private static String toCopyLine(LoadRecord record) {
+        PersonRequestDto person = record.person();
+        return Stream.of(record.line(), person.getDocumentTypeId(), text(person.getDocumentNumber()),
+                        text(person.getFirstName()), text(person.getLastName()), text(person.getMiddleName()),
+                        person.getBirthDate(), text(person.getGender()), text(person.getPersonalPhone()),
+                        text(person.getWorkPhone()), text(person.getPersonalEmail()), text(person.getAddress()))
+                .map(value -> value == null ? "" : value.toString())
+                .collect(Collectors.joining(",", "", "\n"));
+    }
+
+    private static String text(String value) {
+        return value == null ? null : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static PersonLoadConflictDto conflict(LoadRecord record, String reason, String message) {
+        PersonRequestDto person = record.person();
+        return PersonLoadConflictDto.builder()
+                .line(record.line())
+                .documentTypeId(person != null ? person.getDocumentTypeId() : null)
+                .documentNumber(person != null ? person.getDocumentNumber() : null)
+                .personalEmail(person != null ? person.getPersonalEmail() : null)
+                .reason(reason)
+                .message(message)
+                .build();
+    }
+
+    private static boolean exceeds(String value, int maxLength) {
+        return value != null && value.length() > maxLength;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record LoadRecord(long line, PersonRequestDto person, String error) {
+    }
+
+    private record MergeOutcome(long loaded, List<PersonLoadConflictDto> conflicts) {
+    }
+}
@@ -1,10 +1,14 @@
 package edu.pe.vallegrande.AuthenticationService.service.impl;
 
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
 import edu.pe.vallegrande.AuthenticationService.dto.PersonRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.PersonResponseDto;
 import edu.pe.vallegrande.AuthenticationService.exception.ResourceNotFoundException;
 import edu.pe.vallegrande.AuthenticationService.exception.DuplicateResourceException;
 import edu.pe.vallegrande.AuthenticationService.model.Person;
+import edu.pe.vallegrande.AuthenticationService.pagination.KeysetPageQuery;
+import edu.pe.vallegrande.AuthenticationService.pagination.KeysetTable;
+import edu.pe.vallegrande.AuthenticationService.repository.EntityStreamReader;
 import edu.pe.vallegrande.AuthenticationService.repository.PersonRepository;
 import edu.pe.vallegrande.AuthenticationService.service.PersonService;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +20,8 @@ import reactor.core.publisher.Mono;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
+import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -27,6 +33,31 @@ import java.util.UUID;
 public class PersonServiceImpl implements PersonService {
 
     private final PersonRepository personRepository;
+    private final KeysetPageQuery keysetPageQuery;
+    private final EntityStreamReader entityStreamReader;
+
+    /**
+     * Campos disponibles en la paginación de personas; fullName y age se calculan en SQL
+     */
+    private static final KeysetTable PERSONS_PAGE = KeysetTable.of("persons")
+            .field("id", "id")
+            .field("documentTypeId", "document_type_id")
+            .field("documentNumber", "document_number")
+            .field("firstName", "first_name")
+            .field("lastName", "last_name")
+            .field("middleName", "middle_name")
+            .field("fullName", "concat_ws(' ', first_name, NULLIF(trim(middle_name), ''), last_name)")
+            .field("birthDate", "birth_date")
+            .field("age", "date_part('year', age(birth_date))::int")
+            .field("gender", "gender")
+            .field("personalPhone", "personal_phone")
+            .field("workPhone", "work_phone")
+            .field("personalEmail", "personal_email")
+            .field("address", "address")
+            .field("status", "status")
+            .field("createdAt", "created_at")
+            .field("updatedAt", "updated_at")
+            .build();
 
     @Override
     public Mono<PersonResponseDto> createPerson(PersonRequestDto personRequestDto) {
@@ -70,6 +101,19 @@ public class PersonServiceImpl implements PersonService {
                 .map(this::mapToResponseDto);
     }
 
+    @Override
+    public Flux<PersonResponseDto> streamAllPersons() {
+        return entityStreamReader.stream(Person.class, "SELECT * FROM persons ORDER BY created_at, id")
+                .map(this::mapToResponseDto)
+                .doOnComplete(() -> log.info("Exportación de personas completada"));
+    }
+
+    @Override
+    public Mono<CursorPageDto<Map<String, Object>>> getPersonsPage(Boolean active, String cursor, int size, String fields) {
+        log.info("Obteniendo página de personas (active={}, size={})", active, size);
+        return keysetPageQuery.page(PERSONS_PAGE, Collections.singletonMap("status", active), cursor, size, fields);
+    }
+
     @Override
     public Flux<PersonResponseDto> getAllActivePersons() {
         log.info("Obteniendo todas las personas activas");
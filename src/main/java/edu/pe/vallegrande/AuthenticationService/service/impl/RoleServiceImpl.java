@@ -1,20 +1,44 @@
 package edu.pe.vallegrande.AuthenticationService.service.impl;
 
+import edu.pe.vallegrande.AuthenticationService.catalog.AuthorizationCatalog;
+import edu.pe.vallegrande.AuthenticationService.catalog.CatalogDocument;
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RoleCloneRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RoleCloneResultDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RoleRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.RoleResponseDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
 import edu.pe.vallegrande.AuthenticationService.exception.ResourceNotFoundException;
 import edu.pe.vallegrande.AuthenticationService.exception.DuplicateResourceException;
 import edu.pe.vallegrande.AuthenticationService.model.Role;
+import edu.pe.vallegrande.AuthenticationService.pagination.KeysetPageQuery;
+import edu.pe.vallegrande.AuthenticationService.pagination.KeysetTable;
+import edu.pe.vallegrande.AuthenticationService.repository.RoleHierarchyRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.RolePermissionRepository;
 import edu.pe.vallegrande.AuthenticationService.repository.RoleRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRoleRepository;
+import edu.pe.vallegrande.AuthenticationService.security.AuthorizationDecisionCache;
 import edu.pe.vallegrande.AuthenticationService.service.RoleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Implementación del servicio para la gestión de roles
@@ -25,6 +49,28 @@ import java.util.UUID;
 public class RoleServiceImpl implements RoleService {
     
     private final RoleRepository roleRepository;
+    private final RoleHierarchyRepository roleHierarchyRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
+    private final AuthorizationDecisionCache decisionCache;
+    private final AuthorizationCatalog catalog;
+    private final KeysetPageQuery keysetPageQuery;
+    
+    /**
+     * Campos disponibles en la paginación de roles
+     */
+    private static final KeysetTable ROLES_PAGE = KeysetTable.of("roles")
+            .field("id", "id")
+            .field("name", "name")
+            .field("description", "description")
+            .field("isSystem", "is_system")
+            .field("active", "active")
+            .field("createdAt", "created_at")
+            .field("createdBy", "created_by")
+            .build();
     
     @Override
     public Mono<RoleResponseDto> createRole(RoleRequestDto roleRequestDto) {
@@ -46,8 +92,11 @@ public class RoleServiceImpl implements RoleService {
                             .createdBy(roleRequestDto.getCreatedBy())
                             .build();
                     
-                    return roleRepository.save(role);
+                    return roleRepository.save(role)
+                            .flatMap(saved -> roleHierarchyRepository.insertSelf(saved.getId()).thenReturn(saved));
                 })
+                .as(transactionalOperator::transactional)
+                .flatMap(role -> catalog.refresh().thenReturn(role))
                 .map(this::mapToResponseDto)
                 .doOnSuccess(role -> log.info("Rol creado exitosamente: {}", role.getName()))
                 .doOnError(error -> log.error("Error al crear rol: {}", error.getMessage()));
@@ -61,6 +110,12 @@ public class RoleServiceImpl implements RoleService {
                 .doOnComplete(() -> log.info("Roles obtenidos exitosamente"));
     }
     
+    @Override
+    public Mono<CursorPageDto<Map<String, Object>>> getRolesPage(Boolean active, String cursor, int size, String fields) {
+        log.info("Obteniendo página de roles (active={}, size={})", active, size);
+        return keysetPageQuery.page(ROLES_PAGE, Collections.singletonMap("active", active), cursor, size, fields);
+    }
+    
     @Override
     public Flux<RoleResponseDto> getActiveRoles() {
         log.info("Obteniendo roles activos");
@@ -77,6 +132,11 @@ public class RoleServiceImpl implements RoleService {
                 .doOnComplete(() -> log.info("Roles inactivos obtenidos exitosamente"));
     }
     
+    @Override
+    public Mono<CatalogDocument> getRolesDocument(Boolean active) {
+        return catalog.current().map(snapshot -> snapshot.rolesDocument(active));
+    }
+    
     @Override
     public Mono<RoleResponseDto> getRoleById(UUID id) {
         log.info("Obteniendo rol por ID: {}", id);
@@ -125,8 +185,18 @@ public class RoleServiceImpl implements RoleService {
                             .createdBy(existingRole.getCreatedBy())
                             .build();
                     
-                    return roleRepository.save(updatedRole);
+                    boolean activeChanged = !Objects.equals(existingRole.getActive(), updatedRole.getActive());
+                    return roleRepository.save(updatedRole)
+                            .flatMap(saved -> (activeChanged ? refreshClosureThrough(id) : Mono.<Void>empty()).thenReturn(saved))
+                            .flatMap(saved -> outboxWriter.record(
+                                    AuthorizationEvents.role(AuthorizationEventType.ROLE_UPDATED, id)).thenReturn(saved));
                 })
+                .as(transactionalOperator::transactional)
+                .doOnNext(role -> {
+                    decisionCache.invalidateAll();
+                    eventPublisher.publish(AuthorizationEvents.role(AuthorizationEventType.ROLE_UPDATED, id));
+                })
+                .flatMap(role -> catalog.refresh().thenReturn(role))
                 .map(this::mapToResponseDto)
                 .doOnSuccess(role -> log.info("Rol actualizado exitosamente: {}", role.getName()))
                 .doOnError(error -> log.error("Error al actualizar rol: {}", error.getMessage()));
@@ -142,9 +212,17 @@ public class RoleServiceImpl implements RoleService {
                     if (role.getIsSystem()) {
                         return Mono.error(new IllegalStateException("No se puede eliminar un rol del sistema"));
                     }
-                    return roleRepository.updateActiveStatus(id, false);
+                    return roleRepository.updateActiveStatus(id, false)
+                            .then(refreshClosureThrough(id))
+                            .then(outboxWriter.record(AuthorizationEvents.role(AuthorizationEventType.ROLE_DEACTIVATED, id)));
                 })
+                .as(transactionalOperator::transactional)
                 .then()
+                .doOnSuccess(unused -> {
+                    decisionCache.invalidateAll();
+                    eventPublisher.publish(AuthorizationEvents.role(AuthorizationEventType.ROLE_DEACTIVATED, id));
+                })
+                .then(catalog.refresh())
                 .doOnSuccess(unused -> log.info("Rol eliminado exitosamente con ID: {}", id))
                 .doOnError(error -> log.error("Error al eliminar rol: {}", error.getMessage()));
     }
@@ -160,8 +238,16 @@ public class RoleServiceImpl implements RoleService {
                         return Mono.error(new IllegalStateException("El rol ya está activo"));
                     }
                     return roleRepository.updateActiveStatus(id, true)
+                            .then(refreshClosureThrough(id))
+                            .then(outboxWriter.record(AuthorizationEvents.role(AuthorizationEventType.ROLE_RESTORED, id)))
                             .then(Mono.just(role));
                 })
+                .as(transactionalOperator::transactional)
+                .doOnNext(role -> {
+                    decisionCache.invalidateAll();
+                    eventPublisher.publish(AuthorizationEvents.role(AuthorizationEventType.ROLE_RESTORED, id));
+                })
+                .flatMap(role -> catalog.refresh().thenReturn(role))
                 .map(this::mapToResponseDto)
                 .doOnSuccess(role -> log.info("Rol restaurado exitosamente: {}", role.getName()))
                 .doOnError(error -> log.error("Error al restaurar rol: {}", error.getMessage()));
@@ -172,6 +258,163 @@ public class RoleServiceImpl implements RoleService {
         return roleRepository.existsByName(name);
     }
     
+    @Override
+    public Mono<RoleCloneResultDto> cloneRole(UUID id, RoleCloneRequestDto request) {
+        log.info("Clonando rol {} como: {}", id, request.getName());
+        if (request.getName() == null || request.getName().isBlank()) {
+            return Mono.error(new IllegalStateException("Debe indicar el nombre del nuevo rol"));
+        }
+        String[] includeModules = toArray(request.getIncludeModules());
+        String[] excludeModules = toArray(request.getExcludeModules());
+        boolean copyInheritance = Boolean.TRUE.equals(request.getCopyInheritance());
+        
+        return findRoleOrFail(id)
+                .then(roleRepository.existsByName(request.getName()))
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.error(new DuplicateResourceException("Ya existe un rol con el nombre: " + request.getName()));
+                    }
+                    return roleRepository.insertCloneOf(id, request.getName(), request.getDescription(), request.getCreatedBy());
+                })
+                .flatMap(clone -> roleHierarchyRepository.insertSelf(clone.getId())
+                        .then(rolePermissionRepository.copyPermissions(id, clone.getId(), includeModules, excludeModules)
+                                .collectList())
+                        .zipWith(copyInheritance ? copyParents(id, clone.getId()) : Mono.just(List.<UUID>of()))
+                        .flatMap(copied -> {
+                            List<AuthorizationEventDto> events = new ArrayList<>();
+                            copied.getT1().forEach(permissionId -> events.add(AuthorizationEvents.rolePermission(
+                                    AuthorizationEventType.PERMISSION_GRANTED, clone.getId(), permissionId)));
+                            copied.getT2().forEach(parentRoleId -> events.add(AuthorizationEvents.roleInheritance(
+                                    AuthorizationEventType.ROLE_INHERITANCE_ADDED, clone.getId(), parentRoleId)));
+                            return outboxWriter.recordAll(events)
+                                    .thenReturn(new ClonedRole(clone, copied.getT1().size(), copied.getT2().size(), events));
+                        }))
+                .as(transactionalOperator::transactional)
+                // Otro alta concurrente con el mismo nombre pasa la verificación previa y choca con la restricción única
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new DuplicateResourceException("Ya existe un rol con el nombre: " + request.getName()))
+                .doOnNext(cloned -> eventPublisher.publishAll(cloned.events()))
+                .flatMap(cloned -> catalog.refresh().thenReturn(cloned))
+                .map(cloned -> RoleCloneResultDto.builder()
+                        .role(mapToResponseDto(cloned.role()))
+                        .copiedPermissions(cloned.permissions())
+                        .copiedParentRoles(cloned.parents())
+                        .build())
+                .doOnSuccess(result -> log.info("Rol clonado exitosamente: {} ({} permisos)",
+                        result.getRole().getName(), result.getCopiedPermissions()))
+                .doOnError(error -> log.error("Error al clonar rol: {}", error.getMessage()));
+    }
+    
+    @Override
+    public Flux<RoleResponseDto> getParentRoles(UUID id) {
+        log.info("Obteniendo roles padre del rol: {}", id);
+        return findRoleOrFail(id)
+                .flatMapMany(role -> roleRepository.findParentRoles(id))
+                .map(this::mapToResponseDto);
+    }
+    
+    @Override
+    public Flux<RoleResponseDto> getInheritedRoles(UUID id) {
+        log.info("Obteniendo roles heredados por el rol: {}", id);
+        return findRoleOrFail(id)
+                .flatMapMany(role -> roleRepository.findInheritedRoles(id))
+                .map(this::mapToResponseDto);
+    }
+    
+    @Override
+    public Mono<Void> addParentRole(UUID id, UUID parentRoleId) {
+        log.info("Agregando herencia: el rol {} hereda del rol {}", id, parentRoleId);
+        if (id.equals(parentRoleId)) {
+            return Mono.error(new IllegalStateException("Un rol no puede heredar de sí mismo"));
+        }
+        AuthorizationEventDto event = AuthorizationEvents.roleInheritance(
+                AuthorizationEventType.ROLE_INHERITANCE_ADDED, id, parentRoleId);
+        
+        return changeHierarchy(id, parentRoleId, unused -> roleHierarchyRepository
+                .existsByParentRoleIdAndChildRoleId(parentRoleId, id)
+                .flatMap(exists -> exists
+                        ? Mono.error(new DuplicateResourceException("El rol ya hereda directamente del rol: " + parentRoleId))
+                        : roleHierarchyRepository.inheritsFrom(parentRoleId, id))
+                .flatMap(cycle -> cycle
+                        ? Mono.error(new IllegalStateException("La herencia generaría un ciclo entre los roles"))
+                        : roleHierarchyRepository.insertEdge(parentRoleId, id))
+                .then(roleHierarchyRepository.addClosurePaths(parentRoleId, id))
+                .then(outboxWriter.record(event)), event)
+                .doOnSuccess(unused -> log.info("Herencia agregada exitosamente: {} -> {}", parentRoleId, id))
+                .doOnError(error -> log.error("Error al agregar herencia: {}", error.getMessage()));
+    }
+    
+    @Override
+    public Mono<Void> removeParentRole(UUID id, UUID parentRoleId) {
+        log.info("Quitando herencia: el rol {} deja de heredar del rol {}", id, parentRoleId);
+        AuthorizationEventDto event = AuthorizationEvents.roleInheritance(
+                AuthorizationEventType.ROLE_INHERITANCE_REMOVED, id, parentRoleId);
+        
+        // Solo se recalcula la clausura de los roles que heredan del hijo; el resto no cambia
+        return changeHierarchy(id, parentRoleId, unused -> roleHierarchyRepository
+                .deleteEdge(parentRoleId, id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new ResourceNotFoundException("El rol no hereda directamente del rol: " + parentRoleId))
+                        : roleHierarchyRepository.detachInheritors(id).distinct().collectList())
+                .flatMap(affected -> roleHierarchyRepository.rebuildClosure(affected.toArray(UUID[]::new)))
+                .then(outboxWriter.record(event)), event)
+                .doOnSuccess(unused -> log.info("Herencia eliminada exitosamente: {} -> {}", parentRoleId, id))
+                .doOnError(error -> log.error("Error al quitar herencia: {}", error.getMessage()));
+    }
+    
+    /**
+     * Aplicar un cambio de herencia en una transacción con la jerarquía bloqueada
+     * Tras confirmar, invalida las decisiones de los usuarios del rol y de sus herederos y publica el evento
+     */
+    private Mono<Void> changeHierarchy(UUID id, UUID parentRoleId, Function<Boolean, Mono<Void>> change,
+                                       AuthorizationEventDto event) {
+        return Mono.when(findRoleOrFail(id), findRoleOrFail(parentRoleId))
+                .then(roleHierarchyRepository.lockHierarchy())
+                .flatMap(change)
+                .as(transactionalOperator::transactional)
+                .then(Mono.defer(() -> userRoleRepository.findUserIdsByRoleIds(new UUID[]{id})
+                        .collectList()
+                        .doOnNext(decisionCache::invalidateUsers)))
+                .then()
+                .doOnSuccess(unused -> eventPublisher.publish(event));
+    }
+    
+    /**
+     * Recalcular la clausura de los roles que heredan a través del rol dado tras cambiar su estado activo
+     * La clausura solo atraviesa roles activos, así que activar o desactivar un rol abre o corta esos caminos
+     */
+    private Mono<Void> refreshClosureThrough(UUID roleId) {
+        return roleHierarchyRepository.lockHierarchy()
+                .thenMany(roleHierarchyRepository.detachInheritors(roleId))
+                .distinct()
+                .collectList()
+                .flatMap(affected -> roleHierarchyRepository.rebuildClosure(affected.toArray(UUID[]::new)))
+                .then();
+    }
+    
+    /**
+     * Copiar las herencias directas y la clausura del rol origen al clon; devuelve los padres copiados
+     * El clon aún no tiene herederos, así que sus filas de clausura son las del origen
+     */
+    private Mono<List<UUID>> copyParents(UUID sourceRoleId, UUID targetRoleId) {
+        return roleHierarchyRepository.lockHierarchy()
+                .thenMany(roleHierarchyRepository.copyParents(sourceRoleId, targetRoleId))
+                .collectList()
+                .flatMap(parents -> roleHierarchyRepository.copyClosure(sourceRoleId, targetRoleId).thenReturn(parents));
+    }
+    
+    private static String[] toArray(List<String> values) {
+        return values != null ? values.toArray(String[]::new) : new String[0];
+    }
+    
+    private record ClonedRole(Role role, int permissions, int parents, List<AuthorizationEventDto> events) {
+    }
+    
+    private Mono<Role> findRoleOrFail(UUID id) {
+        return roleRepository.findById(id)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Rol no encontrado con ID: " + id)));
+    }
+    
     /**
      * Mapea una entidad Role a RoleResponseDto
      */
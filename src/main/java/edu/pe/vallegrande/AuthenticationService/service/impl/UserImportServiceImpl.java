@@ -0,0 +1,310 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserImportResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserRequestDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
+import edu.pe.vallegrande.AuthenticationService.model.User;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
+import edu.pe.vallegrande.AuthenticationService.service.UserImportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de la importación masiva de usuarios
+ *
+ * Los registros se procesan por lotes: la unicidad del username se verifica con una sola consulta
+ * por lote, las contraseñas se hashean en paralelo en un pool acotado al número de núcleos y el lote
+ * se inserta con una sentencia multi-fila. Cada lote se confirma por separado junto con sus eventos
+ * USER_CREATED en el outbox, así una importación interrumpida conserva lo ya importado y puede
+ * reintentarse (los existentes se informan como DUPLICATE).
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int MAX_USERNAME_LENGTH = 50;
+    private static final Set<String> STATUSES = Set.of("ACTIVE", "INACTIVE", "SUSPENDED");
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final AuthorizationEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+    private final int hashParallelism;
+    private final Scheduler hashScheduler;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            AuthorizationOutboxWriter outboxWriter,
+            AuthorizationEventPublisher eventPublisher,
+            TransactionalOperator transactionalOperator,
+            @Value("${authorization.user-import.batch-size:500}") int batchSize,
+            @Value("${authorization.user-import.hash-parallelism:0}") int hashParallelism) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.outboxWriter = outboxWriter;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+        this.hashParallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+        this.hashScheduler = Schedulers.newParallel("user-import-hash", this.hashParallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashScheduler.dispose();
+    }
+
+    @Override
+    public Flux<UserImportResultDto> importNdjson(Flux<String> lines, UUID createdBy) {
+        return importRecords(lines.index()
+                .filter(line -> !line.getT2().isBlank())
+                .map(line -> parseJson(line.getT1() + 1, line.getT2(), createdBy)));
+    }
+
+    @Override
+    public Flux<UserImportResultDto> importCsv(Flux<String> lines, UUID createdBy) {
+        return importRecords(CsvLines.records(lines, (line, row) -> parseCsv(line, row, createdBy)));
+    }
+
+    private Flux<UserImportResultDto> importRecords(Flux<ImportRecord> records) {
+        log.info("Iniciando importación masiva de usuarios (lote={}, hilos de hash={})", batchSize, hashParallelism);
+        // Usernames ya vistos en esta importación, para informar repetidos entre lotes
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger total = new AtomicInteger();
+
+        return records
+                .buffer(batchSize)
+                .concatMap(batch -> importBatch(batch, seen))
+                .doOnNext(result -> {
+                    total.incrementAndGet();
+                    if ("CREATED".equals(result.getStatus())) {
+                        created.incrementAndGet();
+                    }
+                })
+                .doOnComplete(() -> log.info("Importación masiva completada: {} de {} usuarios creados",
+                        created.get(), total.get()))
+                .doOnError(error -> log.error("Error en la importación masiva de usuarios: {}", error.getMessage()));
+    }
+
+    /**
+     * Importar un lote; un username solo queda en seen cuando se creó o ya existía en la base
+     * Las repeticiones dentro del lote se resuelven después de la primera aparición, según su resultado real
+     */
+    private Flux<UserImportResultDto> importBatch(List<ImportRecord> batch, Set<String> seen) {
+        UserImportResultDto[] results = new UserImportResultDto[batch.size()];
+        List<Integer> candidates = new ArrayList<>();
+        List<Integer> repeats = new ArrayList<>();
+        Set<String> inBatch = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ImportRecord record = batch.get(i);
+            String invalid = record.error() != null ? record.error() : validate(record.user());
+            if (invalid != null) {
+                results[i] = result(record, "INVALID", invalid);
+            } else if (seen.contains(record.user().getUsername())) {
+                results[i] = result(record, "DUPLICATE", "Username repetido en la importación");
+            } else if (!inBatch.add(record.user().getUsername())) {
+                repeats.add(i);
+            } else {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+
+        String[] usernames = candidates.stream().map(i -> batch.get(i).user().getUsername()).toArray(String[]::new);
+        return userRepository.findExistingUsernames(usernames)
+                .collect(HashSet<String>::new, Set::add)
+                .flatMap(existing -> {
+                    List<Integer> pending = new ArrayList<>();
+                    for (Integer i : candidates) {
+                        String username = batch.get(i).user().getUsername();
+                        if (existing.contains(username)) {
+                            results[i] = result(batch.get(i), "DUPLICATE", "Ya existe un usuario con el username");
+                            seen.add(username);
+                        } else {
+                            pending.add(i);
+                        }
+                    }
+                    return pending.isEmpty() ? Mono.empty() : insert(batch, pending, results, seen);
+                })
+                .then(Mono.defer(() -> repeats.isEmpty()
+                        ? Mono.empty()
+                        : importBatch(repeats.stream().map(batch::get).toList(), seen)
+                                .collectList()
+                                .doOnNext(retried -> {
+                                    for (int k = 0; k < repeats.size(); k++) {
+                                        results[repeats.get(k)] = retried.get(k);
+                                    }
+                                })))
+                .thenMany(Flux.defer(() -> Flux.fromArray(results)));
+    }
+
+    /**
+     * Hashear en paralelo (el orden se conserva) e insertar en una sola sentencia
+     * El lote y sus eventos USER_CREATED se confirman en la misma transacción; se publican tras confirmar
+     */
+    private Mono<Void> insert(List<ImportRecord> batch, List<Integer> pending, UserImportResultDto[] results,
+            Set<String> seen) {
+        return Flux.fromIterable(pending)
+                .flatMapSequential(i -> Mono.fromCallable(() -> passwordEncoder.encode(batch.get(i).user().getPassword()))
+                        .subscribeOn(hashScheduler), hashParallelism)
+                .collectList()
+                .flatMap(hashes -> {
+                    List<UserRequestDto> users = pending.stream().map(i -> batch.get(i).user()).toList();
+                    return userRepository.insertAll(
+                            users.stream().map(UserRequestDto::getUsername).toArray(String[]::new),
+                            hashes.toArray(String[]::new),
+                            users.stream().map(UserRequestDto::getPersonId).toArray(UUID[]::new),
+                            users.stream().map(UserRequestDto::getAreaId).toArray(UUID[]::new),
+                            users.stream().map(UserRequestDto::getPositionId).toArray(UUID[]::new),
+                            users.stream().map(UserRequestDto::getDirectManagerId).toArray(UUID[]::new),
+                            users.stream().map(user -> user.getStatus() != null ? user.getStatus() : "ACTIVE")
+                                    .toArray(String[]::new),
+                            users.stream().map(this::preferences).toArray(String[]::new),
+                            users.stream().map(UserRequestDto::getCreatedBy).toArray(UUID[]::new))
+                            .collectList()
+                            .flatMap(inserted -> outboxWriter.recordAll(created(inserted)).thenReturn(inserted))
+                            .as(transactionalOperator::transactional);
+                })
+                .doOnNext(inserted -> eventPublisher.publishAll(created(inserted)))
+                .map(inserted -> inserted.stream().collect(Collectors.toMap(User::getUsername, User::getId)))
+                .doOnNext(inserted -> {
+                    for (Integer i : pending) {
+                        UUID id = inserted.get(batch.get(i).user().getUsername());
+                        if (id != null) {
+                            seen.add(batch.get(i).user().getUsername());
+                        }
+                        results[i] = id != null
+                                ? UserImportResultDto.builder()
+                                        .line(batch.get(i).line())
+                                        .username(batch.get(i).user().getUsername())
+                                        .status("CREATED")
+                                        .userId(id)
+                                        .build()
+                                : result(batch.get(i), "INVALID_REFERENCE",
+                                        "Persona, área, posición, jefe directo o creador inexistente, o username registrado durante la importación");
+                    }
+                })
+                .then();
+    }
+
+    private static List<AuthorizationEventDto> created(List<User> users) {
+        return users.stream()
+                .map(user -> AuthorizationEvents.user(AuthorizationEventType.USER_CREATED, user.getId(), user.getStatus()))
+                .toList();
+    }
+
+    private static String validate(UserRequestDto user) {
+        if (isBlank(user.getUsername()) || user.getUsername().length() > MAX_USERNAME_LENGTH) {
+            return "El username es obligatorio y admite hasta " + MAX_USERNAME_LENGTH + " caracteres";
+        }
+        if (isBlank(user.getPassword())) {
+            return "La contraseña es obligatoria";
+        }
+        if (user.getPersonId() == null || user.getAreaId() == null || user.getPositionId() == null) {
+            return "personId, areaId y positionId son obligatorios";
+        }
+        if (user.getStatus() != null && !STATUSES.contains(user.getStatus())) {
+            return "Status inválido: " + user.getStatus();
+        }
+        return null;
+    }
+
+    private ImportRecord parseJson(long line, String json, UUID createdBy) {
+        try {
+            UserRequestDto user = objectMapper.readValue(json, UserRequestDto.class);
+            return user != null
+                    ? new ImportRecord(line, withCreatedBy(user, createdBy), null)
+                    : new ImportRecord(line, null, "Registro vacío");
+        } catch (JsonProcessingException e) {
+            return new ImportRecord(line, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRecord parseCsv(long line, Map<String, String> row, UUID createdBy) {
+        try {
+            UserRequestDto user = UserRequestDto.builder()
+                    .username(row.get("username"))
+                    .password(row.get("password"))
+                    .personId(uuid(row.get("personId")))
+                    .areaId(uuid(row.get("areaId")))
+                    .positionId(uuid(row.get("positionId")))
+                    .directManagerId(uuid(row.get("directManagerId")))
+                    .status(row.get("status"))
+                    .createdBy(uuid(row.get("createdBy")))
+                    .build();
+            return new ImportRecord(line, withCreatedBy(user, createdBy), null);
+        } catch (IllegalArgumentException e) {
+            return new ImportRecord(line, null, "UUID inválido: " + e.getMessage());
+        }
+    }
+
+    private static UserRequestDto withCreatedBy(UserRequestDto user, UUID createdBy) {
+        if (user.getCreatedBy() == null) {
+            user.setCreatedBy(createdBy);
+        }
+        return user;
+    }
+
+    private String preferences(UserRequestDto user) {
+        if (user.getPreferences() == null) {
+            return "{}";
+        }
+        try {
+            return objectMapper.writeValueAsString(user.getPreferences());
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+
+    private static UUID uuid(String value) {
+        return value != null ? UUID.fromString(value) : null;
+    }
+
+    private static UserImportResultDto result(ImportRecord record, String status, String message) {
+        return UserImportResultDto.builder()
+                .line(record.line())
+                .username(record.user() != null ? record.user().getUsername() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record ImportRecord(long line, UserRequestDto user, String error) {
+    }
+}
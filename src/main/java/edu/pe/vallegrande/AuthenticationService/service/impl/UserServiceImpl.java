@@ -1,24 +1,37 @@
 package edu.pe.vallegrande.AuthenticationService.service.impl;
 
+import edu.pe.vallegrande.AuthenticationService.dto.CursorPageDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserRequestDto;
 import edu.pe.vallegrande.AuthenticationService.dto.UserResponseDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserVersionDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.dto.AuthorizationEventDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventType;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEvents;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
 import edu.pe.vallegrande.AuthenticationService.exception.ResourceNotFoundException;
 import edu.pe.vallegrande.AuthenticationService.exception.DuplicateResourceException;
+import edu.pe.vallegrande.AuthenticationService.exception.PreconditionFailedException;
 import edu.pe.vallegrande.AuthenticationService.model.User;
+import edu.pe.vallegrande.AuthenticationService.pagination.KeysetPageQuery;
+import edu.pe.vallegrande.AuthenticationService.pagination.KeysetTable;
+import edu.pe.vallegrande.AuthenticationService.repository.EntityStreamReader;
 import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
 import edu.pe.vallegrande.AuthenticationService.service.UserService;
+import io.r2dbc.postgresql.codec.Json;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
 
 /**
  * Implementación del servicio para la gestión de usuarios
@@ -30,7 +43,36 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuthorizationEventPublisher eventPublisher;
+    private final AuthorizationOutboxWriter outboxWriter;
+    private final TransactionalOperator transactionalOperator;
+    private final KeysetPageQuery keysetPageQuery;
+    private final EntityStreamReader entityStreamReader;
+    private final ObjectMapper objectMapper;
+
+    private static final String EMPTY_PREFERENCES = "{}";
+
+    /**
+     * Campos disponibles en la paginación de usuarios; el hash de contraseña no se expone
+     */
+    private static final KeysetTable USERS_PAGE = KeysetTable.of("users")
+            .field("id", "id")
+            .field("username", "username")
+            .field("personId", "person_id")
+            .field("areaId", "area_id")
+            .field("positionId", "position_id")
+            .field("directManagerId", "direct_manager_id")
+            .field("status", "status")
+            .field("lastLogin", "last_login")
+            .field("loginAttempts", "login_attempts")
+            .field("blockedUntil", "blocked_until")
+            .jsonField("preferences", "preferences::text")
+            .field("createdBy", "created_by")
+            .field("createdAt", "created_at")
+            .field("updatedBy", "updated_by")
+            .field("updatedAt", "updated_at")
+            .field("version", "version")
+            .build();
 
     @Override
     public Mono<UserResponseDto> createUser(UserRequestDto userRequestDto) {
@@ -43,8 +85,6 @@ public class UserServiceImpl implements UserService {
                                 "Ya existe un usuario con el username: " + userRequestDto.getUsername()));
                     }
 
-                    // Convertir Map a String para almacenar en la base de datos
-                    String preferencesAsString = convertMapToString(userRequestDto.getPreferences());
 
                     User user = User.builder()
                             .id(UUID.randomUUID())
@@ -56,15 +96,18 @@ public class UserServiceImpl implements UserService {
                             .directManagerId(userRequestDto.getDirectManagerId())
                             .status(userRequestDto.getStatus() != null ? userRequestDto.getStatus() : "ACTIVE")
                             .loginAttempts(0)
-                            .preferences(preferencesAsString)
+                            .preferences(toJson(userRequestDto.getPreferences()))
                             .createdBy(userRequestDto.getCreatedBy())
                             .createdAt(LocalDateTime.now())
                             .updatedAt(LocalDateTime.now())
                             .version(1)
                             .build();
 
-                    return userRepository.save(user);
+                    return userRepository.save(user)
+                            .flatMap(saved -> outboxWriter.record(created(saved)).thenReturn(saved));
                 })
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> eventPublisher.publish(created(saved)))
                 .map(this::mapToResponseDto)
                 .doOnSuccess(user -> log.info("Usuario creado exitosamente: {}", user.getUsername()))
                 .doOnError(error -> log.error("Error al crear usuario: {}", error.getMessage()));
@@ -77,6 +120,19 @@ public class UserServiceImpl implements UserService {
                 .map(this::mapToResponseDto);
     }
 
+    @Override
+    public Flux<UserResponseDto> streamAllUsers() {
+        return entityStreamReader.stream(User.class, "SELECT * FROM users ORDER BY created_at, id")
+                .map(this::mapToResponseDto)
+                .doOnComplete(() -> log.info("Exportación de usuarios completada"));
+    }
+
+    @Override
+    public Mono<CursorPageDto<Map<String, Object>>> getUsersPage(String status, String cursor, int size, String fields) {
+        log.info("Obteniendo página de usuarios (status={}, size={})", status, size);
+        return keysetPageQuery.page(USERS_PAGE, Collections.singletonMap("status", status), cursor, size, fields);
+    }
+
     @Override
     public Flux<UserResponseDto> getActiveUsers() {
         log.info("Obteniendo usuarios activos");
@@ -115,6 +171,19 @@ public class UserServiceImpl implements UserService {
                 .map(this::mapToResponseDto);
     }
 
+    @Override
+    public Mono<UserVersionDto> getUserVersion(UUID id) {
+        return userRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Usuario no encontrado con ID: " + id)));
+    }
+
+    @Override
+    public Mono<UserVersionDto> getUserVersionByUsername(String username) {
+        return userRepository.findVersionByUsername(username)
+                .switchIfEmpty(
+                        Mono.error(new ResourceNotFoundException("Usuario no encontrado con username: " + username)));
+    }
+
     @Override
     public Flux<UserResponseDto> getUsersByArea(UUID areaId) {
         log.info("Obteniendo usuarios por área: {}", areaId);
@@ -137,11 +206,21 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Mono<UserResponseDto> updateUser(UUID id, UserRequestDto userRequestDto) {
+    public Mono<UserResponseDto> updateUser(UUID id, UserRequestDto userRequestDto, Integer expectedVersion) {
         log.info("Actualizando usuario con ID: {}", id);
 
-        return userRepository.findById(id)
+        // Con versión esperada se bloquea la fila para que la comparación y la escritura sean atómicas
+        Mono<User> current = expectedVersion != null ? userRepository.findByIdForUpdate(id) : userRepository.findById(id);
+        return current
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Usuario no encontrado con ID: " + id)))
+                .flatMap(existingUser -> {
+                    if (expectedVersion != null && expectedVersion != currentVersion(existingUser)) {
+                        return Mono.error(new PreconditionFailedException("El usuario " + id
+                                + " fue modificado: versión actual " + currentVersion(existingUser)
+                                + ", esperada " + expectedVersion));
+                    }
+                    return Mono.just(existingUser);
+                })
                 .flatMap(existingUser -> {
                     // Verificar si el username ya existe en otro usuario
                     if (!existingUser.getUsername().equals(userRequestDto.getUsername())) {
@@ -158,9 +237,9 @@ public class UserServiceImpl implements UserService {
                     return Mono.just(existingUser);
                 })
                 .flatMap(existingUser -> {
-                    // Convertir Map a String para almacenar en la base de datos
-                    String preferencesAsString = userRequestDto.getPreferences() != null 
-                        ? convertMapToString(userRequestDto.getPreferences()) 
+                    // Sin preferencias en la solicitud se conserva el JSON almacenado sin reinterpretarlo
+                    Json preferences = userRequestDto.getPreferences() != null
+                        ? toJson(userRequestDto.getPreferences())
                         : existingUser.getPreferences();
 
                     User updatedUser = User.builder()
@@ -181,23 +260,25 @@ public class UserServiceImpl implements UserService {
                             .lastLogin(existingUser.getLastLogin())
                             .loginAttempts(existingUser.getLoginAttempts())
                             .blockedUntil(existingUser.getBlockedUntil())
-                            .preferences(preferencesAsString)
+                            .preferences(preferences)
                             .createdBy(existingUser.getCreatedBy())
                             .createdAt(existingUser.getCreatedAt())
                             .updatedBy(userRequestDto.getUpdatedBy())
                             .updatedAt(LocalDateTime.now())
-                            .version(existingUser.getVersion() + 1)
+                            .version(currentVersion(existingUser) + 1)
                             .build();
 
                     return userRepository.save(updatedUser);
                 })
+                .as(transactionalOperator::transactional)
                 .map(this::mapToResponseDto);
     }
 
     @Override
     public Mono<UserResponseDto> changeUserStatus(UUID id, String status, UUID updatedBy) {
         log.info("Cambiando status del usuario {} a: {}", id, status);
-        return userRepository.updateStatus(id, status, updatedBy)
+        return recordStatusChange(userRepository.updateStatus(id, status, updatedBy),
+                        AuthorizationEvents.user(AuthorizationEventType.USER_STATUS_CHANGED, id, status))
                 .then(userRepository.findById(id))
                 .map(this::mapToResponseDto);
     }
@@ -205,14 +286,15 @@ public class UserServiceImpl implements UserService {
     @Override
     public Mono<Void> deleteUser(UUID id, UUID updatedBy) {
         log.info("Eliminando usuario con ID: {}", id);
-        return userRepository.updateStatus(id, "INACTIVE", updatedBy)
-                .then();
+        return recordStatusChange(userRepository.updateStatus(id, "INACTIVE", updatedBy),
+                AuthorizationEvents.user(AuthorizationEventType.USER_STATUS_CHANGED, id, "INACTIVE"));
     }
 
     @Override
     public Mono<UserResponseDto> restoreUser(UUID id, UUID updatedBy) {
         log.info("Restaurando usuario con ID: {}", id);
-        return userRepository.updateStatus(id, "ACTIVE", updatedBy)
+        return recordStatusChange(userRepository.updateStatus(id, "ACTIVE", updatedBy),
+                        AuthorizationEvents.user(AuthorizationEventType.USER_STATUS_CHANGED, id, "ACTIVE"))
                 .then(userRepository.findById(id))
                 .map(this::mapToResponseDto);
     }
@@ -220,7 +302,8 @@ public class UserServiceImpl implements UserService {
     @Override
     public Mono<UserResponseDto> suspendUser(UUID id, UUID updatedBy) {
         log.info("Suspendiendo usuario con ID: {}", id);
-        return userRepository.updateStatus(id, "SUSPENDED", updatedBy)
+        return recordStatusChange(userRepository.updateStatus(id, "SUSPENDED", updatedBy),
+                        AuthorizationEvents.user(AuthorizationEventType.USER_SUSPENDED, id, "SUSPENDED"))
                 .then(userRepository.findById(id))
                 .map(this::mapToResponseDto);
     }
@@ -229,7 +312,8 @@ public class UserServiceImpl implements UserService {
     public Mono<UserResponseDto> blockUser(UUID id) {
         log.info("Bloqueando usuario con ID: {}", id);
         LocalDateTime blockedUntil = LocalDateTime.now().plusHours(24); // Bloquear por 24 horas
-        return userRepository.blockUser(id, blockedUntil)
+        return recordStatusChange(userRepository.blockUser(id, blockedUntil),
+                        AuthorizationEvents.user(AuthorizationEventType.USER_BLOCKED, id, "SUSPENDED"))
                 .then(userRepository.findById(id))
                 .map(this::mapToResponseDto);
     }
@@ -237,7 +321,8 @@ public class UserServiceImpl implements UserService {
     @Override
     public Mono<UserResponseDto> unblockUser(UUID id) {
         log.info("Desbloqueando usuario con ID: {}", id);
-        return userRepository.unblockUser(id)
+        return recordStatusChange(userRepository.unblockUser(id),
+                        AuthorizationEvents.user(AuthorizationEventType.USER_UNBLOCKED, id, "ACTIVE"))
                 .then(userRepository.findById(id))
                 .map(this::mapToResponseDto);
     }
@@ -260,39 +345,47 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Hash de password usando BCrypt
+     * Ejecutar un cambio de estado junto con su registro en el outbox y publicarlo tras el commit
      */
-    private String hashPassword(String password) {
-        return passwordEncoder.encode(password);
+    private Mono<Void> recordStatusChange(Mono<Integer> update, AuthorizationEventDto event) {
+        return update
+                .filter(rows -> rows > 0)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Usuario no encontrado con ID: " + event.getUserId())))
+                .then(outboxWriter.record(event))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(unused -> eventPublisher.publish(event));
+    }
+
+    private static AuthorizationEventDto created(User user) {
+        return AuthorizationEvents.user(AuthorizationEventType.USER_CREATED, user.getId(), user.getStatus());
     }
 
     /**
-     * Convertir Map<String, Object> a String
+     * Versión actual del usuario; una versión nula equivale a 0, igual que en el ETag y en COALESCE(version, 0)
      */
-    private String convertMapToString(Map<String, Object> map) {
-        if (map == null) {
-            return "{}";
-        }
-        try {
-            return objectMapper.writeValueAsString(map);
-        } catch (Exception e) {
-            log.error("Error convirtiendo Map a String: {}", e.getMessage());
-            return "{}";
-        }
+    private static int currentVersion(User user) {
+        return Objects.requireNonNullElse(user.getVersion(), 0);
+    }
+
+    /**
+     * Hash de password usando BCrypt
+     */
+    private String hashPassword(String password) {
+        return passwordEncoder.encode(password);
     }
 
     /**
-     * Convertir String a Map<String, Object>
+     * Serializar las preferencias recibidas directamente al valor JSONB que se almacena
      */
-    private Map<String, Object> convertStringToMap(String str) {
-        if (str == null || str.isEmpty()) {
-            return new HashMap<>();
+    private Json toJson(Map<String, Object> map) {
+        if (map == null) {
+            return Json.of(EMPTY_PREFERENCES);
         }
         try {
-            return objectMapper.readValue(str, new TypeReference<Map<String, Object>>() {});
+            return Json.of(objectMapper.writeValueAsBytes(map));
         } catch (Exception e) {
-            log.error("Error convirtiendo String a Map: {}", e.getMessage());
-            return new HashMap<>();
+            log.error("Error serializando preferencias: {}", e.getMessage());
+            return Json.of(EMPTY_PREFERENCES);
         }
     }
 
@@ -311,7 +404,7 @@ public class UserServiceImpl implements UserService {
                 .lastLogin(user.getLastLogin())
                 .loginAttempts(user.getLoginAttempts())
                 .blockedUntil(user.getBlockedUntil())
-                .preferences(convertStringToMap(user.getPreferences()))
+                .preferences(user.getPreferences() != null ? user.getPreferences().asString() : EMPTY_PREFERENCES)
                 .createdBy(user.getCreatedBy())
                 .createdAt(user.getCreatedAt())
                 .updatedBy(user.getUpdatedBy())
@@ -125,4 +125,107 @@ ALTER TABLE roles ADD CONSTRAINT fk_roles_created_by
 
 ALTER TABLE permissions ADD COLUMN created_by UUID;
 ALTER TABLE permissions ADD CONSTRAINT fk_permissions_created_by
-    FOREIGN KEY (created_by) REFERENCES users(id);
\ No newline at end of file
+    FOREIGN KEY (created_by) REFERENCES users(id);
+
+-- Reglas de autorización por ruta: método + plantilla de ruta -> permiso requerido
+CREATE TABLE route_permissions (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    http_method     VARCHAR(10) NOT NULL,
+    path_pattern    VARCHAR(200) NOT NULL,
+    module          VARCHAR(50) NOT NULL,
+    action          VARCHAR(50) NOT NULL,
+    resource        VARCHAR(100),
+    active          BOOLEAN DEFAULT true,
+    updated_at      TIMESTAMP DEFAULT NOW(),
+    CONSTRAINT uk_route_permission UNIQUE (http_method, path_pattern),
+    CONSTRAINT chk_route_method CHECK (http_method IN ('*', 'GET', 'POST', 'PUT', 'PATCH', 'DELETE', 'HEAD'))
+);
+
+-- Asignaciones con fecha de expiración pendientes de desactivar (barrido por lotes)
+CREATE INDEX idx_users_roles_expiring ON users_roles (user_id, role_id)
+    WHERE active = true AND expiration_date IS NOT NULL;
+
+-- Usuarios con bloqueo temporal pendiente de liberar (barrido por lotes)
+CREATE INDEX idx_users_blocked_until ON users (blocked_until)
+    WHERE blocked_until IS NOT NULL AND status = 'SUSPENDED';
+
+-- Outbox de cambios de autorización, escrito en la misma transacción que cada cambio
+CREATE TABLE authorization_outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    event_type      VARCHAR(50) NOT NULL,
+    user_id         UUID,
+    role_id         UUID,
+    permission_id   UUID,
+    status          VARCHAR(20),
+    created_at      TIMESTAMP NOT NULL DEFAULT NOW(),
+    published_at    TIMESTAMP
+);
+
+-- Registros pendientes de publicar por el relay
+CREATE INDEX idx_authorization_outbox_pending ON authorization_outbox (id)
+    WHERE published_at IS NULL;
+
+-- Herencia de roles: el rol hijo recibe los permisos del rol padre
+CREATE TABLE roles_hierarchy (
+    parent_role_id  UUID NOT NULL,
+    child_role_id   UUID NOT NULL,
+    created_at      TIMESTAMP DEFAULT NOW(),
+    PRIMARY KEY (parent_role_id, child_role_id),
+    FOREIGN KEY (parent_role_id) REFERENCES roles(id) ON DELETE CASCADE,
+    FOREIGN KEY (child_role_id) REFERENCES roles(id) ON DELETE CASCADE,
+    CONSTRAINT chk_roles_hierarchy_self CHECK (parent_role_id <> child_role_id)
+);
+
+CREATE INDEX idx_roles_hierarchy_child ON roles_hierarchy (child_role_id);
+
+-- Clausura transitiva de la herencia: role_id hereda de inherited_role_id a la distancia depth
+-- Cada rol se incluye a sí mismo con depth 0, así los permisos efectivos se resuelven con un solo join
+CREATE TABLE role_closure (
+    role_id           UUID NOT NULL,
+    inherited_role_id UUID NOT NULL,
+    depth             INTEGER NOT NULL,
+    PRIMARY KEY (role_id, inherited_role_id),
+    FOREIGN KEY (role_id) REFERENCES roles(id) ON DELETE CASCADE,
+    FOREIGN KEY (inherited_role_id) REFERENCES roles(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_role_closure_inherited ON role_closure (inherited_role_id);
+
+INSERT INTO role_closure (role_id, inherited_role_id, depth)
+SELECT id, id, 0 FROM roles
+ON CONFLICT DO NOTHING;
+
+-- Todo rol nuevo, venga de la API o de un INSERT directo, recibe su fila depth 0 en la clausura
+CREATE OR REPLACE FUNCTION fn_role_closure_self() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO role_closure (role_id, inherited_role_id, depth)
+    VALUES (NEW.id, NEW.id, 0)
+    ON CONFLICT DO NOTHING;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_role_closure_self
+    AFTER INSERT ON roles
+    FOR EACH ROW EXECUTE FUNCTION fn_role_closure_self();
+
+-- Rol padre de los eventos de herencia en el outbox
+ALTER TABLE authorization_outbox ADD COLUMN parent_role_id UUID;
+
+-- Clave natural de permisos con recurso nulo comparable; árbitro del upsert del catálogo
+CREATE UNIQUE INDEX uk_permission_key ON permissions (module, action, (COALESCE(resource, '')));
+
+-- Paginación por cursor (keyset) sobre (created_at, id): un created_at nulo quedaría fuera de la comparación
+UPDATE users SET created_at = NOW() WHERE created_at IS NULL;
+ALTER TABLE users ALTER COLUMN created_at SET NOT NULL;
+UPDATE persons SET created_at = NOW() WHERE created_at IS NULL;
+ALTER TABLE persons ALTER COLUMN created_at SET NOT NULL;
+UPDATE roles SET created_at = NOW() WHERE created_at IS NULL;
+ALTER TABLE roles ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
+CREATE INDEX idx_persons_created_at_id ON persons (created_at, id);
+CREATE INDEX idx_roles_created_at_id ON roles (created_at, id);
+
+-- Búsqueda por email de personas (verificación de unicidad y carga masiva)
+CREATE INDEX idx_persons_personal_email ON persons (personal_email);
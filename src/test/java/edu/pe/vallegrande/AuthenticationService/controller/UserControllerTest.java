@@ -0,0 +1,98 @@
+package edu.pe.vallegrande.AuthenticationService.controller;
+
+import edu.pe.vallegrande.AuthenticationService.dto.UserRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserResponseDto;
+import edu.pe.vallegrande.AuthenticationService.exception.PreconditionFailedException;
+import edu.pe.vallegrande.AuthenticationService.service.UserImportService;
+import edu.pe.vallegrande.AuthenticationService.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserControllerTest {
+
+	@Mock
+	private UserService userService;
+	@Mock
+	private UserImportService userImportService;
+
+	@InjectMocks
+	private UserController userController;
+
+	private final UUID id = UUID.randomUUID();
+	private final UserRequestDto request = UserRequestDto.builder().username("ana").build();
+
+	@Test
+	void eTagRendersNullVersionAsZero() {
+		assertThat(UserController.eTag(id, 3)).isEqualTo("\"" + id + "-3\"");
+		assertThat(UserController.eTag(id, null)).isEqualTo(UserController.eTag(id, 0));
+	}
+
+	@Test
+	void ifMatchYieldsVersionOfTheEntryForThisUser() {
+		String other = UserController.eTag(UUID.randomUUID(), 9);
+
+		assertThat(UserController.expectedVersion(id, UserController.eTag(id, 4))).isEqualTo(4);
+		assertThat(UserController.expectedVersion(id, other + ", " + UserController.eTag(id, 7))).isEqualTo(7);
+	}
+
+	@Test
+	void ifMatchWithoutAnEntryForThisUserHasNoVersion() {
+		assertThat(UserController.expectedVersion(id, UserController.eTag(UUID.randomUUID(), 1))).isNull();
+		assertThat(UserController.expectedVersion(id, "W/" + UserController.eTag(id, 1))).isNull();
+		assertThat(UserController.expectedVersion(id, "\"" + id + "-abc\"")).isNull();
+		assertThat(UserController.expectedVersion(id, "\"" + id + "-\"")).isNull();
+	}
+
+	@Test
+	void ifNoneMatchUsesWeakComparison() {
+		String eTag = UserController.eTag(id, 2);
+
+		assertThat(UserController.matches(eTag, eTag)).isTrue();
+		assertThat(UserController.matches("W/" + eTag, eTag)).isTrue();
+		assertThat(UserController.matches("\"x\", " + eTag, eTag)).isTrue();
+		assertThat(UserController.matches("*", eTag)).isTrue();
+		assertThat(UserController.matches(UserController.eTag(id, 1), eTag)).isFalse();
+	}
+
+	@Test
+	void updateWithForeignETagFailsWithPreconditionBeforeCallingTheService() {
+		StepVerifier.create(userController.updateUser(id, request, UserController.eTag(UUID.randomUUID(), 1)))
+				.expectError(PreconditionFailedException.class)
+				.verify();
+		verifyNoInteractions(userService);
+	}
+
+	@Test
+	void updatePassesExpectedVersionAndReturnsNewETag() {
+		when(userService.updateUser(eq(id), any(), eq(4)))
+				.thenReturn(Mono.just(UserResponseDto.builder().id(id).version(5).build()));
+
+		StepVerifier.create(userController.updateUser(id, request, UserController.eTag(id, 4)))
+				.assertNext(response -> assertThat(response.getHeaders().getETag()).isEqualTo(UserController.eTag(id, 5)))
+				.verifyComplete();
+	}
+
+	@Test
+	void updateWithWildcardOrWithoutIfMatchIsUnconditional() {
+		when(userService.updateUser(eq(id), any(), isNull()))
+				.thenReturn(Mono.just(UserResponseDto.builder().id(id).version(1).build()));
+
+		StepVerifier.create(userController.updateUser(id, request, "*")).expectNextCount(1).verifyComplete();
+		StepVerifier.create(userController.updateUser(id, request, null)).expectNextCount(1).verifyComplete();
+	}
+}
@@ -0,0 +1,53 @@
+package edu.pe.vallegrande.AuthenticationService.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class KeysetPageQueryTest {
+
+	private final KeysetTable table = KeysetTable.of("users")
+			.field("id", "id")
+			.field("username", "username")
+			.jsonField("preferences", "preferences::text")
+			.build();
+
+	@Test
+	void withoutFieldsSelectsAllDeclaredFields() {
+		assertThat(KeysetPageQuery.selectFields(table, null)).containsExactly("id", "username", "preferences");
+		assertThat(KeysetPageQuery.selectFields(table, " ")).containsExactly("id", "username", "preferences");
+		assertThat(KeysetPageQuery.selectFields(table, " , ,")).containsExactly("id", "username", "preferences");
+	}
+
+	@Test
+	void selectsRequestedFieldsInOrderWithoutDuplicates() {
+		assertThat(KeysetPageQuery.selectFields(table, " username,id,username ")).containsExactly("username", "id");
+	}
+
+	@Test
+	void undeclaredFieldIsRejected() {
+		assertThatThrownBy(() -> KeysetPageQuery.selectFields(table, "id,password_hash"))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Campo no permitido en fields: password_hash");
+		assertThatThrownBy(() -> KeysetPageQuery.selectFields(table, "id; DROP TABLE users"))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void pageWithUndeclaredFieldFailsBeforeQuerying() {
+		DatabaseClient databaseClient = mock(DatabaseClient.class);
+		KeysetPageQuery query = new KeysetPageQuery(databaseClient, 500);
+
+		StepVerifier.create(query.page(table, Map.of(), null, 20, "password_hash"))
+				.expectError(IllegalStateException.class)
+				.verify();
+		verifyNoInteractions(databaseClient);
+	}
+}
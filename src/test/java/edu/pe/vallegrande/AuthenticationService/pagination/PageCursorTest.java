@@ -0,0 +1,49 @@
+package edu.pe.vallegrande.AuthenticationService.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+	@Test
+	void encodeThenDecodeRoundTrips() {
+		PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123456000), UUID.randomUUID());
+
+		String token = cursor.encode();
+
+		assertThat(token).doesNotContain("=", "+", "/");
+		assertThat(PageCursor.decode(token)).isEqualTo(cursor);
+	}
+
+	@Test
+	void tamperedTokenIsRejected() {
+		assertThatThrownBy(() -> PageCursor.decode("not a cursor!"))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Cursor de paginación inválido");
+	}
+
+	@Test
+	void tokenWithoutSeparatorIsRejected() {
+		assertThatThrownBy(() -> PageCursor.decode(token("2024-03-15T10:30:45")))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void tokenWithInvalidPartsIsRejected() {
+		assertThatThrownBy(() -> PageCursor.decode(token("yesterday|" + UUID.randomUUID())))
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> PageCursor.decode(token("2024-03-15T10:30:45|not-a-uuid")))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	private static String token(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
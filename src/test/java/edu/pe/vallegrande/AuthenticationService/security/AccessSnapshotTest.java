@@ -0,0 +1,111 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.model.RoleClosure;
+import edu.pe.vallegrande.AuthenticationService.model.RolePermission;
+import edu.pe.vallegrande.AuthenticationService.model.UserRole;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessSnapshotTest {
+
+	private final UUID admin = UUID.randomUUID();
+	private final UUID manager = UUID.randomUUID();
+	private final UUID auditor = UUID.randomUUID();
+
+	private final UUID base = UUID.randomUUID();
+	private final UUID extended = UUID.randomUUID();
+	private final UUID audit = UUID.randomUUID();
+
+	private final UUID read = UUID.randomUUID();
+	private final UUID write = UUID.randomUUID();
+
+	// extended hereda de base; auditor recibe read por base y por audit
+	private final AccessSnapshot snapshot = AccessSnapshot.build(
+			List.of(userRole(admin, base), userRole(manager, extended), userRole(auditor, base), userRole(auditor, audit)),
+			List.of(rolePermission(base, read), rolePermission(extended, write), rolePermission(audit, read)),
+			List.of(new RoleClosure(extended, base, 1)));
+
+	@Test
+	void effectivePermissionsIncludeInheritedRoles() {
+		assertThat(permissions(snapshot.effectivePermissions(admin))).containsExactlyInAnyOrder(read);
+		assertThat(permissions(snapshot.effectivePermissions(manager))).containsExactlyInAnyOrder(read, write);
+		assertThat(permissions(snapshot.effectivePermissions(UUID.randomUUID()))).isEmpty();
+	}
+
+	@Test
+	void diffBetweenUsersIsTheDifferenceOfTheirPermissions() {
+		RoaringBitmap missing = RoaringBitmap.andNot(
+				snapshot.effectivePermissions(manager), snapshot.effectivePermissions(admin));
+		RoaringBitmap extra = RoaringBitmap.andNot(
+				snapshot.effectivePermissions(admin), snapshot.effectivePermissions(manager));
+
+		assertThat(permissions(missing)).containsExactly(write);
+		assertThat(permissions(extra)).isEmpty();
+	}
+
+	@Test
+	void permissionsOfRolesIgnoresUnknownRoles() {
+		assertThat(permissions(snapshot.permissionsOfRoles(List.of(extended, UUID.randomUUID()))))
+				.containsExactlyInAnyOrder(read, write);
+	}
+
+	@Test
+	void usersWithPermissionCountsInheritedGrants() {
+		assertThat(users(snapshot.usersWithPermission(read))).containsExactlyInAnyOrder(admin, manager, auditor);
+		assertThat(snapshot.countUsersWithPermission(write)).isEqualTo(1);
+		assertThat(snapshot.countUsersWithPermission(UUID.randomUUID())).isZero();
+	}
+
+	@Test
+	void removingPermissionFromRoleImpactsHeirsButNotUsersGrantedElsewhere() {
+		assertThat(users(snapshot.usersLosingPermission(base, read))).containsExactlyInAnyOrder(admin, manager);
+		// read no es permiso propio de extended: quitarlo de ahí no cambia nada
+		assertThat(users(snapshot.usersLosingPermission(extended, read))).isEmpty();
+	}
+
+	@Test
+	void removingRoleFromUserLosesOnlyPermissionsNotGrantedByOtherRoles() {
+		assertThat(permissions(snapshot.permissionsLostByUser(admin, base))).containsExactly(read);
+		assertThat(permissions(snapshot.permissionsLostByUser(auditor, base))).isEmpty();
+		assertThat(permissions(snapshot.permissionsLostByUser(admin, extended))).isEmpty();
+	}
+
+	@Test
+	void deactivatingRoleImpactsItsUsersAndHeirs() {
+		Map<UUID, Set<UUID>> impact = snapshot.usersLosingPermissionsOfRole(base).entrySet().stream()
+				.collect(Collectors.toMap(entry -> snapshot.permissionId(entry.getKey()), entry -> users(entry.getValue())));
+
+		assertThat(impact).containsOnlyKeys(read);
+		assertThat(impact.get(read)).containsExactlyInAnyOrder(admin, manager);
+		assertThat(snapshot.usersLosingPermissionsOfRole(UUID.randomUUID())).isEmpty();
+	}
+
+	private Set<UUID> users(RoaringBitmap bitmap) {
+		return ids(bitmap, snapshot::userId);
+	}
+
+	private Set<UUID> permissions(RoaringBitmap bitmap) {
+		return ids(bitmap, snapshot::permissionId);
+	}
+
+	private static Set<UUID> ids(RoaringBitmap bitmap, IntFunction<UUID> id) {
+		return bitmap.stream().mapToObj(id).collect(Collectors.toSet());
+	}
+
+	private static UserRole userRole(UUID userId, UUID roleId) {
+		return UserRole.builder().userId(userId).roleId(roleId).active(true).build();
+	}
+
+	private static RolePermission rolePermission(UUID roleId, UUID permissionId) {
+		return RolePermission.builder().roleId(roleId).permissionId(permissionId).build();
+	}
+}
@@ -0,0 +1,92 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorizationDecisionCacheTest {
+
+	private final AuthorizationDecisionCache cache = new AuthorizationDecisionCache(new SimpleMeterRegistry(), 1000, 600);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void positiveAndNegativeDecisionsAreCached() {
+		UUID userId = UUID.randomUUID();
+
+		assertThat(decide(userId, "users", "read", true)).isTrue();
+		assertThat(decide(userId, "users", "delete", false)).isFalse();
+		assertThat(decide(userId, "users", "read", false)).isTrue();
+		assertThat(decide(userId, "users", "delete", true)).isFalse();
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void invalidatingUsersKeepsOtherUsersDecisions() {
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		UUID third = UUID.randomUUID();
+		decide(first, "users", "read", true);
+		decide(second, "users", "read", true);
+		decide(third, "users", "read", true);
+
+		cache.invalidateUsers(Set.of(first, second));
+
+		assertThat(decide(first, "users", "read", false)).isFalse();
+		assertThat(decide(second, "users", "read", false)).isFalse();
+		assertThat(decide(third, "users", "read", false)).isTrue();
+		assertThat(loads).hasValue(5);
+	}
+
+	@Test
+	void decisionLoadedBeforeAnInvalidationIsDiscarded() {
+		UUID userId = UUID.randomUUID();
+		Sinks.One<Boolean> pending = Sinks.one();
+		Mono<Boolean> stale = cache.get(userId, "users", "read", null, pending::asMono);
+
+		// La invalidación llega mientras el cálculo sigue en curso; su resultado ya no debe guardarse
+		StepVerifier.create(stale)
+				.then(() -> cache.invalidateUser(userId))
+				.then(() -> pending.tryEmitValue(true))
+				.expectNext(true)
+				.verifyComplete();
+
+		assertThat(decide(userId, "users", "read", false)).isFalse();
+	}
+
+	@Test
+	void permissionTrieLoadedBeforeAnInvalidationIsDiscarded() {
+		UUID userId = UUID.randomUUID();
+		PermissionTrie stale = PermissionTrie.compile(List.of());
+		PermissionTrie fresh = PermissionTrie.compile(List.of());
+		Sinks.One<PermissionTrie> pending = Sinks.one();
+
+		StepVerifier.create(cache.permissions(userId, pending::asMono))
+				.then(() -> cache.invalidateAll())
+				.then(() -> pending.tryEmitValue(stale))
+				.expectNext(stale)
+				.verifyComplete();
+
+		StepVerifier.create(cache.permissions(userId, () -> Mono.just(fresh)))
+				.expectNext(fresh)
+				.verifyComplete();
+		StepVerifier.create(cache.permissions(userId, () -> Mono.just(stale)))
+				.expectNext(fresh)
+				.verifyComplete();
+	}
+
+	private boolean decide(UUID userId, String module, String action, boolean decision) {
+		return cache.get(userId, module, action, null, () -> {
+			loads.incrementAndGet();
+			return Mono.just(decision);
+		}).block();
+	}
+}
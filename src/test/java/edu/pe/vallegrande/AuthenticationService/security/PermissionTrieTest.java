@@ -0,0 +1,81 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.model.Permission;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionTrieTest {
+
+	@Test
+	void matchesExactPermission() {
+		PermissionTrie trie = trie(permission("users", "read", "area/finance"));
+
+		assertThat(trie.matches("users", "read", "area/finance")).isTrue();
+		assertThat(trie.matches("users", "read", "area/sales")).isFalse();
+		assertThat(trie.matches("users", "write", "area/finance")).isFalse();
+	}
+
+	@Test
+	void withoutResourceAnyPermissionOnModuleAndActionMatches() {
+		PermissionTrie trie = trie(permission("users", "read", "area/finance"));
+
+		assertThat(trie.matches("users", "read", null)).isTrue();
+		assertThat(trie.matches("users", "write", null)).isFalse();
+	}
+
+	@Test
+	void permissionWithoutResourceDoesNotGrantSpecificResources() {
+		PermissionTrie trie = trie(permission("users", "read", null));
+
+		assertThat(trie.matches("users", "read", null)).isTrue();
+		assertThat(trie.matches("users", "read", "area/finance")).isFalse();
+	}
+
+	@Test
+	void trailingWildcardGrantsEverythingBelow() {
+		PermissionTrie trie = trie(permission("reports", "read", "area/*"), permission("audit", "*", null));
+
+		assertThat(trie.matches("reports", "read", "area/finance")).isTrue();
+		assertThat(trie.matches("reports", "read", "area/finance/2024")).isTrue();
+		assertThat(trie.matches("reports", "read", "other/finance")).isFalse();
+		assertThat(trie.matches("audit", "delete", "logs")).isTrue();
+		assertThat(trie.matches("audit", "read", null)).isTrue();
+	}
+
+	@Test
+	void innerWildcardMatchesExactlyOneSegment() {
+		PermissionTrie trie = trie(permission("*", "read", null), permission("reports", "*", "area"));
+
+		assertThat(trie.matches("users", "read", null)).isTrue();
+		assertThat(trie.matches("users", "write", null)).isFalse();
+		assertThat(trie.matches("reports", "export", "area")).isTrue();
+		assertThat(trie.matches("reports", "export", "area/finance")).isFalse();
+		assertThat(trie.matches("reports", "export", "other")).isFalse();
+	}
+
+	@Test
+	void literalBranchFailureFallsBackToInnerWildcard() {
+		PermissionTrie trie = trie(permission("reports", "read", "area"), permission("reports", "*", "summary"));
+
+		assertThat(trie.matches("reports", "read", "summary")).isTrue();
+		assertThat(trie.matches("reports", "read", "area")).isTrue();
+	}
+
+	@Test
+	void emptyTrieMatchesNothing() {
+		PermissionTrie trie = trie();
+
+		assertThat(trie.matches("users", "read", null)).isFalse();
+	}
+
+	private static PermissionTrie trie(Permission... permissions) {
+		return PermissionTrie.compile(List.of(permissions));
+	}
+
+	private static Permission permission(String module, String action, String resource) {
+		return Permission.builder().module(module).action(action).resource(resource).build();
+	}
+}
@@ -0,0 +1,65 @@
+package edu.pe.vallegrande.AuthenticationService.security;
+
+import edu.pe.vallegrande.AuthenticationService.model.RoutePermission;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteTrieTest {
+
+	private final RoutePermission literal = rule("GET", "/api/v1/users/me", "users", "read-self");
+	private final RoutePermission variable = rule("GET", "/api/v1/users/{id}", "users", "read");
+	private final RoutePermission catchAll = rule("GET", "/api/v1/users/**", "users", "browse");
+	private final RoutePermission anyMethod = rule("*", "/api/v1/reports/*", "reports", "any");
+
+	private final RouteTrie trie = RouteTrie.compile(List.of(catchAll, variable, literal, anyMethod));
+
+	@Test
+	void literalWinsOverVariableAndCatchAll() {
+		assertThat(trie.match("GET", "/api/v1/users/me")).isSameAs(literal);
+	}
+
+	@Test
+	void variableWinsOverCatchAll() {
+		assertThat(trie.match("GET", "/api/v1/users/42")).isSameAs(variable);
+	}
+
+	@Test
+	void catchAllCoversZeroOrMoreSegments() {
+		assertThat(trie.match("GET", "/api/v1/users")).isSameAs(catchAll);
+		assertThat(trie.match("GET", "/api/v1/users/42/roles")).isSameAs(catchAll);
+		assertThat(trie.match("GET", "/api/v1/users/me/roles/1")).isSameAs(catchAll);
+	}
+
+	@Test
+	void trailingSlashIsIgnored() {
+		assertThat(trie.match("GET", "/api/v1/users/42/")).isSameAs(variable);
+	}
+
+	@Test
+	void anyMethodRuleAppliesWhenMethodHasNoMatch() {
+		assertThat(trie.match("DELETE", "/api/v1/reports/7")).isSameAs(anyMethod);
+		assertThat(trie.match("GET", "/api/v1/reports/7")).isSameAs(anyMethod);
+	}
+
+	@Test
+	void unmatchedRouteHasNoRule() {
+		assertThat(trie.match("POST", "/api/v1/users/42")).isNull();
+		assertThat(trie.match("GET", "/api/v1/roles/1")).isNull();
+		assertThat(RouteTrie.empty().match("GET", "/api/v1/users/42")).isNull();
+	}
+
+	@Test
+	void ruleMethodIsCaseInsensitive() {
+		RoutePermission lowerCase = rule("put", "/api/v1/roles/{id}", "roles", "update");
+
+		assertThat(RouteTrie.compile(List.of(lowerCase)).match("PUT", "/api/v1/roles/1")).isSameAs(lowerCase);
+	}
+
+	private static RoutePermission rule(String method, String pattern, String module, String action) {
+		return RoutePermission.builder().httpMethod(method).pathPattern(pattern).module(module).action(action)
+				.active(true).build();
+	}
+}
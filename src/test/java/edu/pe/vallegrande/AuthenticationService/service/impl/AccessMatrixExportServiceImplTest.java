@@ -0,0 +1,42 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessMatrixExportServiceImplTest {
+
+	@Test
+	void plainValuesAreWrittenAsIs() {
+		UUID id = UUID.randomUUID();
+
+		assertThat(AccessMatrixExportServiceImpl.csvField("admin")).isEqualTo("admin");
+		assertThat(AccessMatrixExportServiceImpl.csvField(id)).isEqualTo(id.toString());
+		assertThat(AccessMatrixExportServiceImpl.csvField(true)).isEqualTo("true");
+	}
+
+	@Test
+	void nullIsAnEmptyField() {
+		assertThat(AccessMatrixExportServiceImpl.csvField(null)).isEmpty();
+	}
+
+	@Test
+	void separatorsQuotesAndLineBreaksAreQuoted() {
+		assertThat(AccessMatrixExportServiceImpl.csvField("Pérez, Ana")).isEqualTo("\"Pérez, Ana\"");
+		assertThat(AccessMatrixExportServiceImpl.csvField("dice \"hola\"")).isEqualTo("\"dice \"\"hola\"\"\"");
+		assertThat(AccessMatrixExportServiceImpl.csvField("línea\nnueva")).isEqualTo("\"línea\nnueva\"");
+		assertThat(AccessMatrixExportServiceImpl.csvField("línea\rnueva")).isEqualTo("\"línea\rnueva\"");
+	}
+
+	@Test
+	void formulaPrefixesAreNeutralized() {
+		assertThat(AccessMatrixExportServiceImpl.csvField("=SUM(A1)")).isEqualTo("'=SUM(A1)");
+		assertThat(AccessMatrixExportServiceImpl.csvField("+1")).isEqualTo("'+1");
+		assertThat(AccessMatrixExportServiceImpl.csvField("-1")).isEqualTo("'-1");
+		assertThat(AccessMatrixExportServiceImpl.csvField("@cmd")).isEqualTo("'@cmd");
+		assertThat(AccessMatrixExportServiceImpl.csvField("=HYPERLINK(\"x\",\"y\")"))
+				.isEqualTo("\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\"");
+	}
+}
@@ -0,0 +1,199 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import edu.pe.vallegrande.AuthenticationService.dto.BulkAssignmentResultDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkRolePermissionAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.BulkUserRoleAssignmentRequestDto;
+import edu.pe.vallegrande.AuthenticationService.dto.RolePermissionPairDto;
+import edu.pe.vallegrande.AuthenticationService.dto.UserRolePairDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
+import edu.pe.vallegrande.AuthenticationService.model.RolePermission;
+import edu.pe.vallegrande.AuthenticationService.model.UserRole;
+import edu.pe.vallegrande.AuthenticationService.repository.PermissionRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.RolePermissionRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.RoleRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRoleRepository;
+import edu.pe.vallegrande.AuthenticationService.security.AccessIndex;
+import edu.pe.vallegrande.AuthenticationService.security.AuthorizationDecisionCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AssignmentServiceImplTest {
+
+	@Mock
+	private UserRoleRepository userRoleRepository;
+	@Mock
+	private RolePermissionRepository rolePermissionRepository;
+	@Mock
+	private PermissionRepository permissionRepository;
+	@Mock
+	private UserRepository userRepository;
+	@Mock
+	private RoleRepository roleRepository;
+	@Mock
+	private AuthorizationDecisionCache decisionCache;
+	@Mock
+	private TransactionalOperator transactionalOperator;
+	@Mock
+	private AuthorizationEventPublisher eventPublisher;
+	@Mock
+	private AuthorizationOutboxWriter outboxWriter;
+	@Mock
+	private AccessIndex accessIndex;
+
+	@InjectMocks
+	private AssignmentServiceImpl assignmentService;
+
+	private final UUID newUser = UUID.randomUUID();
+	private final UUID assignedUser = UUID.randomUUID();
+	private final UUID missingUser = UUID.randomUUID();
+	private final UUID role = UUID.randomUUID();
+	private final UUID otherRole = UUID.randomUUID();
+	private final UUID missingRole = UUID.randomUUID();
+	private final UUID permission = UUID.randomUUID();
+	private final UUID missingPermission = UUID.randomUUID();
+	private final UUID admin = UUID.randomUUID();
+
+	@Test
+	void bulkUserRoleAssignmentReportsStatusPerPair() {
+		when(userRepository.findExistingIds(any())).thenReturn(Flux.just(newUser, assignedUser));
+		when(roleRepository.findExistingIds(any())).thenReturn(Flux.just(role));
+		when(userRoleRepository.insertAllIgnoringExisting(any(), any(), eq(admin), any(), eq(true)))
+				.thenReturn(Flux.just(UserRole.builder().userId(newUser).roleId(role).build()));
+		when(outboxWriter.recordAll(anyList())).thenReturn(Mono.empty());
+		when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		BulkUserRoleAssignmentRequestDto request = BulkUserRoleAssignmentRequestDto.builder()
+				.assignedBy(admin)
+				.assignments(List.of(
+						new UserRolePairDto(newUser, role),
+						new UserRolePairDto(assignedUser, role),
+						new UserRolePairDto(missingUser, role),
+						new UserRolePairDto(newUser, missingRole),
+						new UserRolePairDto(newUser, role)))
+				.build();
+
+		List<BulkAssignmentResultDto> results = assignmentService.assignRolesToUsers(request).collectList().block();
+
+		assertThat(results).extracting(BulkAssignmentResultDto::getUserId, BulkAssignmentResultDto::getStatus)
+				.containsExactly(
+						tuple(newUser, "ASSIGNED"),
+						tuple(assignedUser, "ALREADY_ASSIGNED"),
+						tuple(missingUser, "USER_NOT_FOUND"),
+						tuple(newUser, "ROLE_NOT_FOUND"));
+		verify(decisionCache).invalidateUsers(Set.of(newUser));
+		verify(eventPublisher, times(1)).publish(any());
+	}
+
+	@Test
+	void bulkRolePermissionAssignmentReportsStatusPerPair() {
+		when(roleRepository.findExistingIds(any())).thenReturn(Flux.just(role, otherRole));
+		when(permissionRepository.findExistingIds(any())).thenReturn(Flux.just(permission));
+		when(rolePermissionRepository.insertAllIgnoringExisting(any(), any()))
+				.thenReturn(Flux.just(RolePermission.builder().roleId(role).permissionId(permission).build()));
+		when(outboxWriter.recordAll(anyList())).thenReturn(Mono.empty());
+		when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(userRoleRepository.findUserIdsByRoleIds(any())).thenReturn(Flux.just(newUser));
+
+		BulkRolePermissionAssignmentRequestDto request = BulkRolePermissionAssignmentRequestDto.builder()
+				.assignments(List.of(
+						new RolePermissionPairDto(role, permission),
+						new RolePermissionPairDto(otherRole, permission),
+						new RolePermissionPairDto(missingRole, permission),
+						new RolePermissionPairDto(role, missingPermission)))
+				.build();
+
+		Map<UUID, String> statusByRole = assignmentService.assignPermissionsToRoles(request)
+				.filter(result -> permission.equals(result.getPermissionId()))
+				.collectMap(BulkAssignmentResultDto::getRoleId, BulkAssignmentResultDto::getStatus)
+				.block();
+		List<String> missingPermissionStatus = assignmentService.assignPermissionsToRoles(request)
+				.filter(result -> missingPermission.equals(result.getPermissionId()))
+				.map(BulkAssignmentResultDto::getStatus)
+				.collectList()
+				.block();
+
+		assertThat(statusByRole).containsExactlyInAnyOrderEntriesOf(Map.of(
+				role, "ASSIGNED", otherRole, "ALREADY_ASSIGNED", missingRole, "ROLE_NOT_FOUND"));
+		assertThat(missingPermissionStatus).containsExactly("PERMISSION_NOT_FOUND");
+		verify(decisionCache, times(2)).invalidateUsers(List.of(newUser));
+	}
+
+	@Test
+	void bulkAssignmentWithoutAssignerIsRejectedBeforeQuerying() {
+		BulkUserRoleAssignmentRequestDto request = BulkUserRoleAssignmentRequestDto.builder()
+				.assignments(List.of(new UserRolePairDto(newUser, role)))
+				.build();
+
+		StepVerifier.create(assignmentService.assignRolesToUsers(request))
+				.expectError(IllegalStateException.class)
+				.verify();
+		verifyNoInteractions(userRepository, roleRepository, userRoleRepository);
+	}
+
+	@Test
+	void bulkAssignmentWithIncompletePairsIsRejectedBeforeQuerying() {
+		BulkUserRoleAssignmentRequestDto userRoles = BulkUserRoleAssignmentRequestDto.builder()
+				.assignedBy(admin)
+				.assignments(Arrays.asList(new UserRolePairDto(newUser, role), null))
+				.build();
+		BulkRolePermissionAssignmentRequestDto rolePermissions = BulkRolePermissionAssignmentRequestDto.builder()
+				.assignments(List.of(new RolePermissionPairDto(role, null)))
+				.build();
+
+		StepVerifier.create(assignmentService.assignRolesToUsers(userRoles))
+				.expectError(IllegalStateException.class)
+				.verify();
+		StepVerifier.create(assignmentService.assignPermissionsToRoles(rolePermissions))
+				.expectError(IllegalStateException.class)
+				.verify();
+		verifyNoInteractions(userRepository, roleRepository, permissionRepository);
+	}
+
+	@Test
+	void emptyBulkAssignmentDoesNothing() {
+		BulkUserRoleAssignmentRequestDto request = BulkUserRoleAssignmentRequestDto.builder()
+				.assignedBy(admin)
+				.assignments(List.of())
+				.build();
+
+		StepVerifier.create(assignmentService.assignRolesToUsers(request)).verifyComplete();
+		verifyNoInteractions(userRepository, userRoleRepository);
+	}
+
+	@Test
+	void permissionCheckAboveTheLimitIsRejectedBeforeQuerying() {
+		List<String> permissions = Collections.nCopies(10001, "users:read");
+
+		StepVerifier.create(assignmentService.checkPermissions(newUser, permissions))
+				.expectError(IllegalStateException.class)
+				.verify();
+		verifyNoInteractions(decisionCache, userRoleRepository);
+	}
+}
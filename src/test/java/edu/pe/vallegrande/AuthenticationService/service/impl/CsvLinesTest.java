@@ -0,0 +1,61 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvLinesTest {
+
+	@Test
+	void parseSplitsPlainFields() {
+		assertThat(CsvLines.parse("a,b,c")).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	void parseKeepsEmptyFields() {
+		assertThat(CsvLines.parse(",b,")).containsExactly("", "b", "");
+		assertThat(CsvLines.parse("")).containsExactly("");
+	}
+
+	@Test
+	void parseHandlesQuotedCommasAndEscapedQuotes() {
+		assertThat(CsvLines.parse("\"Pérez, Ana\",\"dice \"\"hola\"\"\",x"))
+				.containsExactly("Pérez, Ana", "dice \"hola\"", "x");
+	}
+
+	@Test
+	void recordsMapsRowsByHeaderAndSkipsBlankLines() {
+		Flux<String> lines = Flux.just("username, email ", "", "ana,ana@mail.com", "luis,");
+
+		StepVerifier.create(CsvLines.records(lines, (line, row) -> Map.entry(line, row)))
+				.assertNext(record -> {
+					assertThat(record.getKey()).isEqualTo(3L);
+					assertThat(record.getValue()).containsEntry("username", "ana").containsEntry("email", "ana@mail.com");
+				})
+				.assertNext(record -> {
+					assertThat(record.getKey()).isEqualTo(4L);
+					assertThat(record.getValue()).containsEntry("username", "luis").containsEntry("email", null);
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	void recordsOfEmptyUploadIsEmpty() {
+		StepVerifier.create(CsvLines.records(Flux.just("", " "), (line, row) -> row))
+				.verifyComplete();
+	}
+
+	@Test
+	void parseReadsBackEscapedExportFields() {
+		String line = String.join(",",
+				AccessMatrixExportServiceImpl.csvField("Pérez, Ana"),
+				AccessMatrixExportServiceImpl.csvField("dice \"hola\""),
+				AccessMatrixExportServiceImpl.csvField(null));
+
+		assertThat(CsvLines.parse(line)).containsExactly("Pérez, Ana", "dice \"hola\"", "");
+	}
+}
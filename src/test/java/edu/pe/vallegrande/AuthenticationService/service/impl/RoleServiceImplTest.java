@@ -0,0 +1,196 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import edu.pe.vallegrande.AuthenticationService.catalog.AuthorizationCatalog;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
+import edu.pe.vallegrande.AuthenticationService.exception.DuplicateResourceException;
+import edu.pe.vallegrande.AuthenticationService.exception.ResourceNotFoundException;
+import edu.pe.vallegrande.AuthenticationService.model.Role;
+import edu.pe.vallegrande.AuthenticationService.pagination.KeysetPageQuery;
+import edu.pe.vallegrande.AuthenticationService.repository.RoleHierarchyRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.RolePermissionRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.RoleRepository;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRoleRepository;
+import edu.pe.vallegrande.AuthenticationService.security.AuthorizationDecisionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RoleServiceImplTest {
+
+	@Mock
+	private RoleRepository roleRepository;
+	@Mock
+	private RoleHierarchyRepository roleHierarchyRepository;
+	@Mock
+	private RolePermissionRepository rolePermissionRepository;
+	@Mock
+	private UserRoleRepository userRoleRepository;
+	@Mock
+	private AuthorizationEventPublisher eventPublisher;
+	@Mock
+	private AuthorizationOutboxWriter outboxWriter;
+	@Mock
+	private TransactionalOperator transactionalOperator;
+	@Mock
+	private AuthorizationDecisionCache decisionCache;
+	@Mock
+	private AuthorizationCatalog catalog;
+	@Mock
+	private KeysetPageQuery keysetPageQuery;
+
+	@InjectMocks
+	private RoleServiceImpl roleService;
+
+	private final UUID child = UUID.randomUUID();
+	private final UUID parent = UUID.randomUUID();
+	private final UUID heir = UUID.randomUUID();
+	private final UUID user = UUID.randomUUID();
+
+	private final PublisherProbe<Integer> insertEdge = PublisherProbe.of(Mono.just(1));
+	private final PublisherProbe<Integer> addClosurePaths = PublisherProbe.of(Mono.just(1));
+	private final PublisherProbe<Integer> rebuildClosure = PublisherProbe.of(Mono.just(1));
+
+	@BeforeEach
+	void setUp() {
+		when(roleRepository.findById(any(UUID.class)))
+				.thenAnswer(invocation -> Mono.just(role(invocation.getArgument(0))));
+		when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(roleHierarchyRepository.lockHierarchy()).thenReturn(Mono.just(true));
+		when(roleHierarchyRepository.insertEdge(parent, child)).thenReturn(insertEdge.mono());
+		when(roleHierarchyRepository.addClosurePaths(parent, child)).thenReturn(addClosurePaths.mono());
+		when(roleHierarchyRepository.rebuildClosure(any())).thenReturn(rebuildClosure.mono());
+		when(outboxWriter.record(any())).thenReturn(Mono.empty());
+		when(userRoleRepository.findUserIdsByRoleIds(any())).thenReturn(Flux.just(user));
+		when(catalog.refresh()).thenReturn(Mono.empty());
+	}
+
+	@Test
+	void addingParentInsertsEdgeAndPropagatesClosure() {
+		when(roleHierarchyRepository.existsByParentRoleIdAndChildRoleId(parent, child)).thenReturn(Mono.just(false));
+		when(roleHierarchyRepository.inheritsFrom(parent, child)).thenReturn(Mono.just(false));
+
+		StepVerifier.create(roleService.addParentRole(child, parent)).verifyComplete();
+
+		insertEdge.assertWasSubscribed();
+		addClosurePaths.assertWasSubscribed();
+		verify(decisionCache).invalidateUsers(List.of(user));
+		verify(eventPublisher).publish(any());
+	}
+
+	@Test
+	void addingParentThatInheritsFromChildIsRejectedAsCycle() {
+		when(roleHierarchyRepository.existsByParentRoleIdAndChildRoleId(parent, child)).thenReturn(Mono.just(false));
+		when(roleHierarchyRepository.inheritsFrom(parent, child)).thenReturn(Mono.just(true));
+
+		StepVerifier.create(roleService.addParentRole(child, parent))
+				.expectErrorMessage("La herencia generaría un ciclo entre los roles")
+				.verify();
+
+		insertEdge.assertWasNotSubscribed();
+		addClosurePaths.assertWasNotSubscribed();
+		verify(eventPublisher, never()).publish(any());
+	}
+
+	@Test
+	void addingExistingParentIsRejected() {
+		when(roleHierarchyRepository.existsByParentRoleIdAndChildRoleId(parent, child)).thenReturn(Mono.just(true));
+
+		StepVerifier.create(roleService.addParentRole(child, parent))
+				.expectError(DuplicateResourceException.class)
+				.verify();
+
+		insertEdge.assertWasNotSubscribed();
+		addClosurePaths.assertWasNotSubscribed();
+	}
+
+	@Test
+	void roleCannotInheritFromItself() {
+		StepVerifier.create(roleService.addParentRole(child, child))
+				.expectError(IllegalStateException.class)
+				.verify();
+	}
+
+	@Test
+	void removingParentRebuildsClosureOfDetachedInheritors() {
+		when(roleHierarchyRepository.deleteEdge(parent, child)).thenReturn(Mono.just(1));
+		when(roleHierarchyRepository.detachInheritors(child)).thenReturn(Flux.just(child, heir, heir));
+
+		StepVerifier.create(roleService.removeParentRole(child, parent)).verifyComplete();
+
+		assertThat(rebuiltRoles()).containsExactly(child, heir);
+		verify(decisionCache).invalidateUsers(List.of(user));
+		verify(eventPublisher).publish(any());
+	}
+
+	@Test
+	void removingMissingParentFailsWithoutTouchingClosure() {
+		when(roleHierarchyRepository.deleteEdge(parent, child)).thenReturn(Mono.just(0));
+
+		StepVerifier.create(roleService.removeParentRole(child, parent))
+				.expectError(ResourceNotFoundException.class)
+				.verify();
+
+		verify(roleHierarchyRepository, never()).detachInheritors(any());
+		rebuildClosure.assertWasNotSubscribed();
+	}
+
+	@Test
+	void deactivatingRoleRebuildsClosureThroughIt() {
+		when(roleRepository.updateActiveStatus(child, false)).thenReturn(Mono.just(1));
+		when(roleHierarchyRepository.detachInheritors(child)).thenReturn(Flux.just(heir, heir));
+
+		StepVerifier.create(roleService.deleteRole(child)).verifyComplete();
+
+		assertThat(rebuiltRoles()).containsExactly(heir);
+		verify(decisionCache).invalidateAll();
+	}
+
+	@Test
+	void restoringRoleRebuildsClosureThroughIt() {
+		when(roleRepository.findById(child)).thenReturn(Mono.just(role(child, false)));
+		when(roleRepository.updateActiveStatus(child, true)).thenReturn(Mono.just(1));
+		when(roleHierarchyRepository.detachInheritors(child)).thenReturn(Flux.just(heir));
+
+		StepVerifier.create(roleService.restoreRole(child)).expectNextCount(1).verifyComplete();
+
+		assertThat(rebuiltRoles()).containsExactly(heir);
+	}
+
+	private UUID[] rebuiltRoles() {
+		ArgumentCaptor<UUID[]> roles = ArgumentCaptor.forClass(UUID[].class);
+		verify(roleHierarchyRepository).rebuildClosure(roles.capture());
+		rebuildClosure.assertWasSubscribed();
+		return roles.getValue();
+	}
+
+	private static Role role(UUID id) {
+		return role(id, true);
+	}
+
+	private static Role role(UUID id, boolean active) {
+		return Role.builder().id(id).name("ROLE_" + id).isSystem(false).active(active).build();
+	}
+}
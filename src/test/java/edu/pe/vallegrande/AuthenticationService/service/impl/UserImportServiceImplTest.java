@@ -0,0 +1,109 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.pe.vallegrande.AuthenticationService.dto.UserImportResultDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
+import edu.pe.vallegrande.AuthenticationService.model.User;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserImportServiceImplTest {
+
+	@Mock
+	private UserRepository userRepository;
+	@Mock
+	private PasswordEncoder passwordEncoder;
+	@Mock
+	private AuthorizationOutboxWriter outboxWriter;
+	@Mock
+	private AuthorizationEventPublisher eventPublisher;
+	@Mock
+	private TransactionalOperator transactionalOperator;
+
+	private UserImportServiceImpl importService;
+
+	private final UUID admin = UUID.randomUUID();
+
+	@BeforeEach
+	void setUp() {
+		importService = new UserImportServiceImpl(userRepository, passwordEncoder, new ObjectMapper(), outboxWriter,
+				eventPublisher, transactionalOperator, 500, 1);
+		when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+		when(outboxWriter.recordAll(anyList())).thenReturn(Mono.empty());
+		when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(userRepository.findExistingUsernames(any())).thenReturn(Flux.empty());
+	}
+
+	@AfterEach
+	void tearDown() {
+		importService.shutdown();
+	}
+
+	@Test
+	void repeatedUsernameAfterCreationIsDuplicate() {
+		when(userRepository.insertAll(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+				.thenReturn(Flux.just(user("ana")));
+
+		assertThat(importCsv("ana", "ana"))
+				.extracting(UserImportResultDto::getLine, UserImportResultDto::getStatus)
+				.containsExactly(tuple(2L, "CREATED"), tuple(3L, "DUPLICATE"));
+	}
+
+	@Test
+	void repeatedUsernameIsRetriedWhenTheFirstLineCreatedNothing() {
+		// La primera aparición falla por una referencia inexistente; la siguiente sí se inserta
+		when(userRepository.insertAll(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+				.thenReturn(Flux.empty())
+				.thenReturn(Flux.just(user("ana")));
+
+		assertThat(importCsv("ana", "ana"))
+				.extracting(UserImportResultDto::getLine, UserImportResultDto::getStatus)
+				.containsExactly(tuple(2L, "INVALID_REFERENCE"), tuple(3L, "CREATED"));
+	}
+
+	@Test
+	void repeatedExistingUsernameIsDuplicate() {
+		when(userRepository.findExistingUsernames(any())).thenReturn(Flux.just("ana"));
+
+		assertThat(importCsv("ana", "ana"))
+				.extracting(UserImportResultDto::getStatus, UserImportResultDto::getMessage)
+				.containsExactly(
+						tuple("DUPLICATE", "Ya existe un usuario con el username"),
+						tuple("DUPLICATE", "Username repetido en la importación"));
+	}
+
+	private List<UserImportResultDto> importCsv(String... usernames) {
+		String ids = UUID.randomUUID() + "," + UUID.randomUUID() + "," + UUID.randomUUID();
+		Flux<String> lines = Flux.concat(Flux.just("username,password,personId,areaId,positionId"),
+				Flux.fromArray(usernames).map(username -> username + ",secret," + ids));
+		return importService.importCsv(lines, admin).collectList().block();
+	}
+
+	private static User user(String username) {
+		return User.builder().id(UUID.randomUUID()).username(username).status("ACTIVE").build();
+	}
+}
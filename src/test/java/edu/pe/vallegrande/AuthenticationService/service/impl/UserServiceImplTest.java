@@ -0,0 +1,106 @@
+package edu.pe.vallegrande.AuthenticationService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.pe.vallegrande.AuthenticationService.dto.UserRequestDto;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationEventPublisher;
+import edu.pe.vallegrande.AuthenticationService.event.AuthorizationOutboxWriter;
+import edu.pe.vallegrande.AuthenticationService.exception.PreconditionFailedException;
+import edu.pe.vallegrande.AuthenticationService.model.User;
+import edu.pe.vallegrande.AuthenticationService.pagination.KeysetPageQuery;
+import edu.pe.vallegrande.AuthenticationService.repository.EntityStreamReader;
+import edu.pe.vallegrande.AuthenticationService.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+	@Mock
+	private UserRepository userRepository;
+	@Mock
+	private PasswordEncoder passwordEncoder;
+	@Mock
+	private AuthorizationEventPublisher eventPublisher;
+	@Mock
+	private AuthorizationOutboxWriter outboxWriter;
+	@Mock
+	private TransactionalOperator transactionalOperator;
+	@Mock
+	private KeysetPageQuery keysetPageQuery;
+	@Mock
+	private EntityStreamReader entityStreamReader;
+
+	private UserServiceImpl userService;
+
+	private final UUID id = UUID.randomUUID();
+	private final UserRequestDto request = UserRequestDto.builder().username("ana").build();
+
+	@BeforeEach
+	void setUp() {
+		userService = new UserServiceImpl(userRepository, passwordEncoder, eventPublisher, outboxWriter,
+				transactionalOperator, keysetPageQuery, entityStreamReader, new ObjectMapper());
+		lenient().when(transactionalOperator.transactional(any(Mono.class)))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		lenient().when(userRepository.save(any(User.class)))
+				.thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+	}
+
+	@Test
+	void staleIfMatchVersionFailsWithPrecondition() {
+		when(userRepository.findByIdForUpdate(id)).thenReturn(Mono.just(user(5)));
+
+		StepVerifier.create(userService.updateUser(id, request, 4))
+				.expectError(PreconditionFailedException.class)
+				.verify();
+		verify(userRepository, never()).save(any());
+	}
+
+	@Test
+	void matchingIfMatchVersionUpdatesAndIncrementsVersion() {
+		when(userRepository.findByIdForUpdate(id)).thenReturn(Mono.just(user(5)));
+
+		StepVerifier.create(userService.updateUser(id, request, 5))
+				.expectNextMatches(updated -> updated.getVersion() == 6)
+				.verifyComplete();
+	}
+
+	@Test
+	void nullVersionMatchesItsZeroETag() {
+		when(userRepository.findByIdForUpdate(id)).thenReturn(Mono.just(user(null)));
+
+		StepVerifier.create(userService.updateUser(id, request, 0))
+				.expectNextMatches(updated -> updated.getVersion() == 1)
+				.verifyComplete();
+	}
+
+	@Test
+	void unconditionalUpdateOfNullVersionStartsFromZero() {
+		when(userRepository.findById(id)).thenReturn(Mono.just(user(null)));
+
+		StepVerifier.create(userService.updateUser(id, request, null))
+				.expectNextCount(1)
+				.verifyComplete();
+		verify(userRepository).save(argThat(saved -> saved.getVersion() == 1));
+		verify(userRepository, never()).findByIdForUpdate(any());
+	}
+
+	private User user(Integer version) {
+		return User.builder().id(id).username("ana").status("ACTIVE").version(version).build();
+	}
+}